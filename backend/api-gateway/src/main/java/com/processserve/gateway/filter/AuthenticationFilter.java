@@ -14,6 +14,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @Component
 @Slf4j
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
@@ -73,6 +78,7 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
                 Claims claims = jwtUtil.getAllClaimsFromToken(token);
                 ServerHttpRequest modifiedRequest = request.mutate()
                         .header("X-User-Id", claims.get("userId", String.class))
+                        .header("X-Tenant-Id", tenantIds(claims))
                         .header("X-Email", claims.getSubject())
                         .header("X-Is-Super-Admin", String.valueOf(claims.get("isSuperAdmin", Boolean.class)))
                         .build();
@@ -85,6 +91,22 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
         };
     }
 
+    // Tenants of the token's roles; login issues tokens scoped to one tenant
+    private String tenantIds(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        if (roles == null) {
+            return "";
+        }
+        return roles.stream()
+                .filter(Map.class::isInstance)
+                .map(role -> ((Map<?, ?>) role).get("tenantId"))
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(status);
@@ -0,0 +1,18 @@
+package com.processserve.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The tenant fields auth-service needs during registration, as cached by
+ * TenantConfigCache.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantConfig {
+    private String tenantId;
+    private String name;
+    private boolean active;
+}
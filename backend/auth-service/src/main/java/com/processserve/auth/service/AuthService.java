@@ -40,6 +40,7 @@ public class AuthService {
     private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
     private final OtpService otpService;
     private final EmailService emailService;
+    private final TenantConfigCache tenantConfigCache;
 
     @Transactional
     public LoginResponse register(RegisterRequest request) {
@@ -249,7 +250,7 @@ public class AuthService {
 
     private void validateTenant(String tenantId) {
         try {
-            restTemplate.getForObject("http://TENANT-SERVICE/api/tenants/" + tenantId, Map.class);
+            tenantConfigCache.get(tenantId);
         } catch (Exception e) {
             throw new RuntimeException("Invalid tenant ID: " + tenantId);
         }
@@ -0,0 +1,94 @@
+package com.processserve.auth.service;
+
+import com.processserve.auth.dto.TenantConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tenants looked up during registration, cached instead of calling
+ * tenant-service on every sign-up. Entries are kept until tenant-service
+ * reports a different config fingerprint for the tenant (checked periodically
+ * via /api/tenants/config-versions). Unknown tenants are not cached, so a
+ * newly created tenant is found on its first registration.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TenantConfigCache {
+
+    private static final String TENANT_SERVICE_URL = "http://TENANT-SERVICE/api/tenants/";
+
+    private final RestTemplate restTemplate;
+    private final Map<String, TenantConfig> configs = new ConcurrentHashMap<>();
+    // Fingerprints from the previous check; null until the first one succeeds
+    private volatile Map<String, String> versions;
+
+    /**
+     * Config for {@code tenantId}; throws if tenant-service does not know it
+     */
+    public TenantConfig get(String tenantId) {
+        TenantConfig config = configs.get(tenantId);
+        if (config == null) {
+            Map<String, String> checked = versions;
+            config = load(tenantId);
+            // A version check ran meanwhile: the load may predate a change it saw
+            if (versions == checked) {
+                configs.put(tenantId, config);
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Drop tenants whose settings changed since the previous check. Before the
+     * first successful check nothing is known about changes, so everything is
+     * dropped.
+     */
+    @Scheduled(fixedDelayString = "${tenant-config.version-check-ms:60000}")
+    public void checkVersions() {
+        Map<String, String> current;
+        try {
+            current = restTemplate.exchange(TENANT_SERVICE_URL + "config-versions",
+                    HttpMethod.GET, null,
+                    new ParameterizedTypeReference<Map<String, String>>() {
+                    }).getBody();
+        } catch (Exception e) {
+            log.warn("Could not check tenant config versions: {}", e.getMessage());
+            return;
+        }
+        if (current == null) {
+            return;
+        }
+        Map<String, String> previous = versions;
+        versions = current;
+        if (previous == null) {
+            configs.clear();
+            return;
+        }
+        for (String tenantId : configs.keySet()) {
+            if (!Objects.equals(previous.get(tenantId), current.get(tenantId))) {
+                log.info("Tenant {} config changed, reloading on next use", tenantId);
+                configs.remove(tenantId);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TenantConfig load(String tenantId) {
+        Map<String, Object> tenant = restTemplate.getForObject(TENANT_SERVICE_URL + tenantId, Map.class);
+        if (tenant == null) {
+            throw new IllegalStateException("Tenant not found: " + tenantId);
+        }
+        return new TenantConfig(tenantId, (String) tenant.get("name"),
+                !Boolean.FALSE.equals(tenant.get("isActive")));
+    }
+}
@@ -1,8 +1,9 @@
 package com.processserve.order;
 
-import com.processserve.order.service.OrderRecalculationService;
+import com.processserve.order.service.OrderRecalculationJob;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
@@ -12,20 +13,29 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class StartupRecalculation {
 
-    private final OrderRecalculationService recalculationService;
-    private static boolean hasRun = false;
+    private final OrderRecalculationJob recalculationJob;
 
+    @Value("${orders.recalculation.run-on-startup:true}")
+    private boolean runOnStartup;
+
+    /**
+     * Start (or resume after a crash) the order recalculation in the background.
+     * A run that already completed is not repeated, so startup time no longer
+     * depends on the size of the orders table.
+     */
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
-        if (!hasRun) {
-            log.info("Application started - triggering order recalculation");
-            try {
-                recalculationService.recalculateAllCompletedOrders();
-                hasRun = true;
-                log.info("Order recalculation completed successfully");
-            } catch (Exception e) {
-                log.error("Order recalculation failed", e);
+        if (!runOnStartup) {
+            return;
+        }
+        try {
+            if (recalculationJob.start(false)) {
+                log.info("Application started - order recalculation running in the background");
+            } else {
+                log.info("Order recalculation not started here - already completed or running on another instance");
             }
+        } catch (Exception e) {
+            log.error("Failed to start order recalculation", e);
         }
     }
 }
@@ -11,4 +11,7 @@ public interface TenantClient {
 
     @GetMapping("/api/tenants/{id}")
     Map<String, Object> getTenantById(@PathVariable("id") String id);
+
+    @GetMapping("/api/tenants/config-versions")
+    Map<String, String> getConfigVersions();
 }
@@ -22,4 +22,14 @@ public interface UserClient {
         @org.springframework.web.bind.annotation.GetMapping("/api/customers/by-role/{tenantUserRoleId}")
         java.util.Map<String, Object> getCustomerByTenantUserRoleId(
                         @PathVariable("tenantUserRoleId") String tenantUserRoleId);
+
+        @PostMapping("/api/customers/by-role/batch")
+        java.util.Map<String, java.util.Map<String, Object>> getCustomersByTenantUserRoleIds(
+                        @RequestBody java.util.List<String> tenantUserRoleIds);
+
+        @org.springframework.web.bind.annotation.GetMapping("/api/process-servers/{id}/operating-zip-codes")
+        java.util.List<String> getOperatingZipCodes(@PathVariable("id") String processServerId);
+
+        @PostMapping("/api/process-servers/scoring-stats/batch")
+        java.util.Map<String, java.util.Map<String, Object>> getScoringStats(@RequestBody java.util.List<String> ids);
 }
@@ -0,0 +1,197 @@
+package com.processserve.order.config;
+
+import com.processserve.order.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Idempotency-Key support for POST /api/orders, /api/orders/attempts and
+ * /api/bids. The first request with a key is processed and its response
+ * stored; a retry with the same key and body gets the stored response
+ * replayed (marked with Idempotent-Replayed: true) instead of creating another
+ * order, attempt or bid. Requests without the header are unaffected.
+ *
+ * Keys are scoped to the caller (the X-Tenant-Id and X-User-Id headers the
+ * gateway sets from the JWT), so two users choosing the same key do not see
+ * each other's responses.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String USER_HEADER = "X-User-Id";
+    private static final String TENANT_HEADER = "X-Tenant-Id";
+    private static final Set<String> PATHS = Set.of("/api/orders", "/api/orders/attempts", "/api/bids");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !PATHS.contains(request.getRequestURI())
+                || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String key = scope(request) + " " + request.getRequestURI() + " " + idempotencyKey;
+        String fingerprint = fingerprint(body);
+
+        IdempotencyStore.Result result = store.begin(key, fingerprint);
+        switch (result.getOutcome()) {
+            case COMPLETED -> {
+                replay(response, result.getResponse());
+                return;
+            }
+            case IN_PROGRESS -> {
+                writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+                return;
+            }
+            case MISMATCH -> {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " was already used for a different request");
+                return;
+            }
+            default -> {
+                // ACQUIRED: process below
+            }
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            // Server errors are not final: release the key so the client can retry
+            if (cachingResponse.getStatus() < 500) {
+                store.complete(key, fingerprint, new IdempotencyStore.StoredResponse(cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        log.debug("Replaying stored response for duplicate idempotent request");
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String scope(HttpServletRequest request) {
+        return Objects.toString(request.getHeader(TENANT_HEADER), "") + "/"
+                + Objects.toString(request.getHeader(USER_HEADER), "");
+    }
+
+    private String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Lets the controller read the body that was consumed for the fingerprint
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is available (and then fully read) at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.processserve.order.controller;
 
-import com.processserve.order.service.OrderRecalculationService;
+import com.processserve.order.entity.OutboxMessage;
+import com.processserve.order.service.OrderRecalculationJob;
+import com.processserve.order.service.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -15,32 +19,65 @@ import java.util.Map;
 @Slf4j
 public class AdminController {
 
-    private final OrderRecalculationService recalculationService;
+    private final OrderRecalculationJob recalculationJob;
+    private final OutboxService outboxService;
 
     /**
      * Endpoint to trigger recalculation of all completed orders
-     * This fixes the super admin fee calculation for historical data
+     * This fixes the super admin fee calculation for historical data.
+     * Runs as a background job; poll /recalculate/status for progress.
      */
     @PostMapping("/recalculate")
-    public ResponseEntity<Map<String, String>> recalculateOrders() {
+    public ResponseEntity<Map<String, Object>> recalculateOrders() {
         log.info("Recalculation triggered via admin endpoint");
 
         try {
-            recalculationService.recalculateAllCompletedOrders();
+            boolean started = recalculationJob.start(true);
 
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "All completed orders have been recalculated with correct super admin fees");
+            Map<String, Object> response = new HashMap<>(recalculationJob.getStatus());
+            response.put("message", started ? "Recalculation started" : "Recalculation is already running");
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).body(response);
         } catch (Exception e) {
             log.error("Recalculation failed: {}", e.getMessage(), e);
 
-            Map<String, String> response = new HashMap<>();
+            Map<String, Object> response = new HashMap<>();
             response.put("status", "error");
             response.put("message", "Recalculation failed: " + e.getMessage());
 
             return ResponseEntity.internalServerError().body(response);
         }
     }
+
+    /**
+     * Progress and throughput of the recalculation job
+     */
+    @GetMapping("/recalculate/status")
+    public ResponseEntity<Map<String, Object>> getRecalculationStatus() {
+        return ResponseEntity.ok(recalculationJob.getStatus());
+    }
+
+    /**
+     * Inspect outbox messages, dead letters by default
+     */
+    @GetMapping("/outbox")
+    public ResponseEntity<List<OutboxMessage>> getOutboxMessages(
+            @RequestParam(defaultValue = "DEAD") OutboxMessage.MessageStatus status,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(outboxService.getMessages(status, Math.min(Math.max(limit, 1), 500)));
+    }
+
+    /**
+     * Requeue a dead-lettered outbox message
+     */
+    @PostMapping("/outbox/{id}/retry")
+    public ResponseEntity<?> retryOutboxMessage(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(outboxService.retryDead(id));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 }
@@ -1,11 +1,16 @@
 package com.processserve.order.controller;
 
+import com.processserve.order.dto.BidBookView;
+import com.processserve.order.dto.KeysetPage;
 import com.processserve.order.dto.PlaceBidRequest;
 import com.processserve.order.entity.Bid;
+import com.processserve.order.service.BidBook;
 import com.processserve.order.service.BidService;
+import com.processserve.order.service.OptimisticLockRetry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,13 +25,19 @@ import java.util.Map;
 @Slf4j
 public class BidController {
 
+    private static final int MAX_BOOK_LIMIT = 100;
+
     private final BidService bidService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final BidBook bidBook;
 
     @PostMapping
     public ResponseEntity<?> placeBid(@Valid @RequestBody PlaceBidRequest request) {
         try {
-            Bid bid = bidService.placeBid(request);
+            Bid bid = optimisticLockRetry.execute("POST /api/bids", () -> bidService.placeBid(request));
             return ResponseEntity.status(HttpStatus.CREATED).body(bid);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Failed to place bid: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -38,10 +49,12 @@ public class BidController {
     @PutMapping("/{bidId}/accept")
     public ResponseEntity<?> acceptBid(@PathVariable String bidId) {
         try {
-            bidService.acceptBid(bidId);
+            optimisticLockRetry.run("PUT /api/bids/{bidId}/accept", () -> bidService.acceptBid(bidId));
             Map<String, String> response = new HashMap<>();
             response.put("message", "Bid accepted successfully");
             return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Failed to accept bid: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -50,17 +63,65 @@ public class BidController {
         }
     }
 
+    /**
+     * Bids on an order, newest first. Passing {@code limit} and/or {@code cursor}
+     * returns a {@link KeysetPage} instead of a plain list; {@code status}
+     * filters either form.
+     */
     @GetMapping("/order/{orderId}")
-    public ResponseEntity<List<Bid>> getBidsByOrder(@PathVariable String orderId) {
-        List<Bid> bids = bidService.getBidsByOrderId(orderId);
-        return ResponseEntity.ok(bids);
+    public ResponseEntity<?> getBidsByOrder(@PathVariable String orderId,
+            @RequestParam(required = false) List<Bid.BidStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(bidService.getBidsByOrderId(orderId, status));
+            }
+            return ResponseEntity.ok(bidService.getBidsByOrderIdPage(orderId, status, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * Live bid book for an order: per recipient with pending bids, the
+     * {@code limit} cheapest bids plus count and price range
+     */
+    @GetMapping("/book/order/{orderId}")
+    public ResponseEntity<List<BidBookView>> getOrderBidBook(@PathVariable String orderId,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(bidBook.orderBook(orderId, Math.max(1, Math.min(limit, MAX_BOOK_LIMIT))));
     }
 
+    @GetMapping("/book/recipient/{recipientId}")
+    public ResponseEntity<BidBookView> getRecipientBidBook(@PathVariable String recipientId,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(bidBook.recipientBook(recipientId, Math.max(1, Math.min(limit, MAX_BOOK_LIMIT))));
+    }
+
+    /**
+     * A process server's bid history, newest first. Passing {@code limit} and/or
+     * {@code cursor} returns a {@link KeysetPage} instead of a plain list;
+     * {@code status} filters either form.
+     */
     @GetMapping("/process-server/{processServerId}")
-    public ResponseEntity<List<com.processserve.order.dto.BidDTO>> getBidsByProcessServer(
-            @PathVariable String processServerId) {
-        List<com.processserve.order.dto.BidDTO> bids = bidService.getBidsByProcessServerId(processServerId);
-        return ResponseEntity.ok(bids);
+    public ResponseEntity<?> getBidsByProcessServer(@PathVariable String processServerId,
+            @RequestParam(required = false) List<Bid.BidStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(bidService.getBidsByProcessServerId(processServerId, status));
+            }
+            return ResponseEntity.ok(bidService.getBidsByProcessServerIdPage(processServerId, status, cursor,
+                    limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
     }
 
     // Counter-offer from customer
@@ -72,8 +133,11 @@ public class BidController {
             Double counterAmount = Double.parseDouble(request.get("counterAmount").toString());
             String notes = request.getOrDefault("notes", "").toString();
             
-            Bid bid = bidService.customerCounterOffer(bidId, counterAmount, notes);
+            Bid bid = optimisticLockRetry.execute("POST /api/bids/{bidId}/counter-offer",
+                    () -> bidService.customerCounterOffer(bidId, counterAmount, notes));
             return ResponseEntity.ok(bid);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Failed to submit counter-offer: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -86,10 +150,13 @@ public class BidController {
     @PostMapping("/{bidId}/accept-counter")
     public ResponseEntity<?> acceptCustomerCounter(@PathVariable String bidId) {
         try {
-            bidService.acceptCustomerCounter(bidId);
+            optimisticLockRetry.run("POST /api/bids/{bidId}/accept-counter",
+                    () -> bidService.acceptCustomerCounter(bidId));
             Map<String, String> response = new HashMap<>();
             response.put("message", "Counter-offer accepted successfully");
             return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Failed to accept counter-offer: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -107,8 +174,11 @@ public class BidController {
             Double newAmount = Double.parseDouble(request.get("newAmount").toString());
             String notes = request.getOrDefault("notes", "").toString();
             
-            Bid bid = bidService.processServerRejectsAndCounters(bidId, newAmount, notes);
+            Bid bid = optimisticLockRetry.execute("POST /api/bids/{bidId}/reject-counter",
+                    () -> bidService.processServerRejectsAndCounters(bidId, newAmount, notes));
             return ResponseEntity.ok(bid);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Failed to reject and counter: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -116,4 +186,12 @@ public class BidController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
         }
     }
+
+    // Still conflicting after the retry policy gave up
+    private ResponseEntity<Map<String, String>> conflict(OptimisticLockingFailureException e) {
+        log.warn("Concurrent update conflict: {}", e.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "The bid was modified concurrently, please retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
 }
@@ -1,32 +1,51 @@
 package com.processserve.order.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.processserve.order.dto.CreateOrderRequest;
 import com.processserve.order.dto.RecordAttemptRequest;
 import com.processserve.order.dto.UpdateOrderRequest;
 import com.processserve.order.dto.CancelOrderRequest;
 import com.processserve.order.dto.OrderEditabilityResponse;
+import com.processserve.order.dto.KeysetPage;
+import com.processserve.order.dto.OrderSummary;
 // Removed pricing-related imports: ProposePriceRequest, CounterOfferRequest, AcceptNegotiationRequest, RejectNegotiationRequest
 import com.processserve.order.dto.OrderDraftRequest;
 import com.processserve.order.entity.Order;
 import com.processserve.order.entity.OrderDraft;
 import com.processserve.order.entity.OrderDocument;
+import com.processserve.order.entity.RevenueRollup;
 // Removed pricing-related entity import: PriceNegotiation
+import com.processserve.order.service.OpenJobFeedService;
+import com.processserve.order.service.OptimisticLockRetry;
+import com.processserve.order.service.OrderEventStream;
+import com.processserve.order.service.OrderExportService;
+import com.processserve.order.service.OrderImportService;
+import com.processserve.order.service.OrderCountService;
+import com.processserve.order.service.RevenueLedgerService;
 import com.processserve.order.service.OrderService;
 import com.processserve.order.service.OrderHistoryService;
 // Removed pricing-related service import: PriceNegotiationService
 import com.processserve.order.service.OrderDraftService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import java.util.Map;
 import org.springframework.http.HttpHeaders;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,9 +57,17 @@ import java.util.Map;
 public class OrderController {
 
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
     private final OrderHistoryService historyService;
     // Removed pricing-related service field: PriceNegotiationService negotiationService
     private final OrderDraftService draftService;
+    private final OrderCountService orderCountService;
+    private final RevenueLedgerService revenueLedgerService;
+    private final OpenJobFeedService openJobFeedService;
+    private final OrderImportService orderImportService;
+    private final OrderExportService orderExportService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final OrderEventStream orderEventStream;
 
     @PostMapping
     public ResponseEntity<?> createOrder(@Valid @RequestBody CreateOrderRequest request) {
@@ -55,6 +82,34 @@ public class OrderController {
         }
     }
 
+    /**
+     * Bulk create orders from a CSV (text/csv) or NDJSON (application/x-ndjson)
+     * upload. The body is parsed as it streams in and one NDJSON result line per
+     * row is streamed back, followed by a summary line.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<StreamingResponseBody> importOrders(
+            @RequestParam(required = false) String tenantId,
+            @RequestParam(required = false) String customerId,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request) {
+        try {
+            OrderImportService.Format format = OrderImportService.Format.fromContentType(contentType);
+            InputStream body = request.getInputStream();
+            StreamingResponseBody stream = out -> orderImportService.importOrders(body, format, tenantId,
+                    customerId, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .body(stream);
+        } catch (Exception e) {
+            // The body type must stay StreamingResponseBody for Spring to stream it
+            String error = objectMapper.valueToTree(Map.of("error", String.valueOf(e.getMessage()))).toString();
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write(error.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getOrder(@PathVariable String id) {
         try {
@@ -67,38 +122,131 @@ public class OrderController {
         }
     }
 
+    /**
+     * Customer's orders as lean {@link OrderSummary} rows; full detail is /api/orders/{id}
+     */
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Order>> getOrdersByCustomer(@PathVariable String customerId) {
-        List<Order> orders = orderService.getOrdersByCustomerId(customerId);
+    public ResponseEntity<List<OrderSummary>> getOrdersByCustomer(@PathVariable String customerId) {
+        List<OrderSummary> orders = orderService.getOrdersByCustomerId(customerId);
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Orders assigned to a process server. Passing {@code limit} and/or
+     * {@code cursor} returns a {@link KeysetPage} instead of a plain list.
+     */
     @GetMapping("/process-server/{processServerId}")
-    public ResponseEntity<List<Order>> getOrdersByProcessServer(@PathVariable String processServerId) {
-        List<Order> orders = orderService.getOrdersByProcessServerId(processServerId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<?> getOrdersByProcessServer(
+            @PathVariable String processServerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(orderService.getOrdersByProcessServerId(processServerId));
+            }
+            return ResponseEntity.ok(orderService.getOrdersByProcessServerIdPage(processServerId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
     }
 
+    /**
+     * Open orders for bidding. Passing {@code limit} and/or {@code cursor} switches
+     * to keyset pagination and returns a {@link KeysetPage} instead of a plain list.
+     */
     @GetMapping("/available")
-    public ResponseEntity<List<Order>> getAvailableOrders() {
-        // Return all OPEN and BIDDING orders
-        List<Order> orders = orderService.getAvailableOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<?> getAvailableOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor == null && limit == null) {
+                // Return all OPEN and BIDDING orders
+                return ResponseEntity.ok(orderService.getAvailableOrders());
+            }
+            return ResponseEntity.ok(orderService.getAvailableOrdersPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
     }
 
+    /**
+     * Open jobs in the process server's operating zip codes. Pass the returned
+     * {@code cursor} back as {@code since} to receive only changes.
+     */
+    @GetMapping("/open-jobs")
+    public ResponseEntity<?> getOpenJobFeed(
+            @RequestParam String processServerId,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) List<String> zipCodes) {
+        try {
+            return ResponseEntity.ok(openJobFeedService.getFeed(processServerId, zipCodes, since));
+        } catch (Exception e) {
+            log.error("Failed to load open job feed for {}: {}", processServerId, e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    /**
+     * Tenant orders. Passing {@code limit} and/or {@code cursor} switches to keyset
+     * pagination (newest first); {@code status} filters either form.
+     */
     @GetMapping("/tenant/{tenantId}")
-    public ResponseEntity<List<Order>> getOrdersByTenant(@PathVariable String tenantId) {
-        List<Order> orders = orderService.getOrdersByTenantId(tenantId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<?> getOrdersByTenant(
+            @PathVariable String tenantId,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            if (cursor == null && limit == null) {
+                List<OrderSummary> orders = status != null
+                        ? orderService.getOrdersByTenantIdAndStatus(tenantId, status)
+                        : orderService.getOrdersByTenantId(tenantId);
+                return ResponseEntity.ok(orders);
+            }
+            KeysetPage<OrderSummary> page = orderService.getOrdersByTenantIdPage(tenantId, status, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * Stream a tenant's orders as CSV (default) or NDJSON, optionally limited to
+     * a creation date range and statuses. Rows are written as they are read.
+     */
+    @GetMapping("/tenant/{tenantId}/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @PathVariable String tenantId,
+            @RequestParam(defaultValue = "CSV") OrderExportService.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Order.OrderStatus> status) {
+        boolean csv = format == OrderExportService.Format.CSV;
+        StreamingResponseBody stream = out -> orderExportService.export(tenantId, status, from, to, format, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders-" + tenantId + (csv ? ".csv" : ".ndjson") + "\"")
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .body(stream);
     }
 
     @PostMapping("/attempts")
     public ResponseEntity<?> recordAttempt(@Valid @RequestBody RecordAttemptRequest request) {
         try {
-            orderService.recordAttempt(request);
+            optimisticLockRetry.run("POST /api/orders/attempts", () -> orderService.recordAttempt(request));
             Map<String, String> response = new HashMap<>();
             response.put("message", "Attempt recorded successfully");
             return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Failed to record attempt: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -107,11 +255,32 @@ public class OrderController {
         }
     }
 
+    /**
+     * Platform revenue from the ledger rollups. Optional tenantId and inclusive
+     * from/to dates narrow the range; granularity (HOURLY or DAILY) adds buckets.
+     */
     @GetMapping("/revenue")
-    public ResponseEntity<Map<String, Object>> getPlatformRevenue() {
+    public ResponseEntity<Map<String, Object>> getPlatformRevenue(
+            @RequestParam(required = false) String tenantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) RevenueRollup.Granularity granularity) {
         try {
             Map<String, Object> response = new HashMap<>();
-            response.put("revenue", orderService.getPlatformRevenue());
+            response.put("revenue", revenueLedgerService.getRevenue(tenantId, from, to));
+            if (tenantId != null) {
+                response.put("tenantId", tenantId);
+            }
+            if (from != null) {
+                response.put("from", from);
+            }
+            if (to != null) {
+                response.put("to", to);
+            }
+            if (granularity != null) {
+                response.put("granularity", granularity);
+                response.put("buckets", revenueLedgerService.getRevenueBuckets(tenantId, from, to, granularity));
+            }
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Failed to get platform revenue: {}", e.getMessage());
@@ -141,6 +310,26 @@ public class OrderController {
     }
 
     // Requirement 5: Case Object Search Endpoints
+    /**
+     * Case search by word prefix over case number, jurisdiction, custom name,
+     * recipient names and order numbers. Returns a {@link KeysetPage}; pass
+     * {@code nextCursor} back as {@code cursor} for the next page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchOrders(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String tenantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(orderService.searchOrders(query, tenantId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
     @GetMapping("/search/case")
     public ResponseEntity<?> searchByCaseNumber(@RequestParam String caseNumber) {
         try {
@@ -202,8 +391,11 @@ public class OrderController {
             @Valid @RequestBody UpdateOrderRequest request,
             @RequestHeader(value = "userId", required = false, defaultValue = "system") String userId) {
         try {
-            Order updatedOrder = orderService.updateOrder(id, request, userId);
+            Order updatedOrder = optimisticLockRetry.execute("PUT /api/orders/{id}",
+                    () -> orderService.updateOrder(id, request, userId));
             return ResponseEntity.ok(updatedOrder);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(e);
         } catch (Exception e) {
             log.error("Failed to update order {}: {}", id, e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -267,31 +459,18 @@ public class OrderController {
             @RequestParam(required = false) String customerId,
             @RequestParam(required = false) String tenantId) {
         try {
-            List<Order> orders;
+            Map<String, Long> counts;
 
             if (customerId != null) {
-                orders = orderService.getOrdersByCustomerId(customerId);
+                counts = orderCountService.getCustomerCounts(customerId);
             } else if (tenantId != null) {
-                orders = orderService.getOrdersByTenantId(tenantId);
+                counts = orderCountService.getTenantCounts(tenantId);
             } else {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Either customerId or tenantId must be provided");
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
             }
 
-            Map<String, Long> counts = new HashMap<>();
-
-            counts.put("OPEN", orders.stream().filter(o -> o.getStatus() == Order.OrderStatus.OPEN).count());
-            counts.put("BIDDING", orders.stream().filter(o -> o.getStatus() == Order.OrderStatus.BIDDING).count());
-            counts.put("ASSIGNED", orders.stream().filter(o -> o.getStatus() == Order.OrderStatus.ASSIGNED
-                    || o.getStatus() == Order.OrderStatus.PARTIALLY_ASSIGNED).count());
-            counts.put("IN_PROGRESS",
-                    orders.stream().filter(o -> o.getStatus() == Order.OrderStatus.IN_PROGRESS).count());
-            counts.put("COMPLETED", orders.stream().filter(o -> o.getStatus() == Order.OrderStatus.COMPLETED).count());
-            counts.put("FAILED", orders.stream().filter(o -> o.getStatus() == Order.OrderStatus.FAILED).count());
-            counts.put("CANCELLED", orders.stream().filter(o -> o.getStatus() == Order.OrderStatus.CANCELLED).count());
-            counts.put("TOTAL", (long) orders.size());
-
             return ResponseEntity.ok(counts);
         } catch (Exception e) {
             log.error("Failed to get order counts: {}", e.getMessage());
@@ -301,6 +480,39 @@ public class OrderController {
         }
     }
 
+    /**
+     * Server-Sent Events stream of status changes for one order, or for all
+     * orders of a customer or tenant (exactly one of the parameters). Browsers
+     * resume with the Last-Event-ID header after a reconnect; a "resync" event
+     * means the gap could not be replayed and the page should refetch.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderEvents(
+            @RequestParam(required = false) String orderId,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) String tenantId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        int scopes = (orderId != null ? 1 : 0) + (customerId != null ? 1 : 0) + (tenantId != null ? 1 : 0);
+        if (scopes != 1) {
+            // EventSource cannot read an error body, so the status alone signals the problem
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        OrderEventStream.Scope scope = orderId != null ? OrderEventStream.Scope.ORDER
+                : customerId != null ? OrderEventStream.Scope.CUSTOMER
+                : OrderEventStream.Scope.TENANT;
+        String id = orderId != null ? orderId : customerId != null ? customerId : tenantId;
+        try {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    // Stop nginx-style proxies from buffering the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(orderEventStream.subscribe(scope, id, lastEventId));
+        } catch (IllegalStateException e) {
+            log.warn("Rejecting order event stream for {} {}: {}", scope, id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+    }
+
     @PostMapping("/{id}/recalculate-totals")
     public ResponseEntity<?> recalculateOrderTotals(@PathVariable String id) {
         try {
@@ -631,4 +843,12 @@ public class OrderController {
     // - POST /negotiations/{negotiationId}/reject
     // - GET /recipients/{recipientId}/negotiations
     // - GET /recipients/{recipientId}/negotiations/active
+
+    // Still conflicting after the retry policy gave up
+    private ResponseEntity<Map<String, String>> conflict(OptimisticLockingFailureException e) {
+        log.warn("Concurrent update conflict: {}", e.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "The order was modified concurrently, please retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
 }
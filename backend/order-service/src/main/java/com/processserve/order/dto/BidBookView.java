@@ -0,0 +1,26 @@
+package com.processserve.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Pending bids on one recipient from the bid book: the {@code bids} are the
+ * best (lowest) ones, cheapest first; {@code count} and the price range cover
+ * all pending bids. Amounts are null when there are no bids.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BidBookView {
+    private String recipientId;
+    private String orderId;
+    private int count;
+    private BigDecimal lowestAmount;
+    private BigDecimal highestAmount;
+    private BigDecimal spread;
+    private List<BookBid> bids;
+}
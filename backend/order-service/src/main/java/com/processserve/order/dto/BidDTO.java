@@ -9,15 +9,36 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Bid row for bid listings. Built by a JPQL constructor expression joining
+ * bid, recipient and order, so no entity is hydrated and nothing is lazily
+ * loaded per bid. Field names match {@link Bid} so clients of the former
+ * entity responses keep working.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class BidDTO {
+
+    public static final String SELECT = "SELECT new com.processserve.order.dto.BidDTO("
+            + "b.id, o.id, o.orderNumber, b.bidAmount, b.status, b.createdAt, r.id, b.processServerId, "
+            + "b.comment, b.customerCounterAmount, b.customerCounterNotes, b.counterOfferCount, "
+            + "b.lastCounterBy, b.updatedAt, b.version) FROM Bid b JOIN b.recipient r JOIN r.order o";
+
     private String id;
     private String orderId;
     private String orderNumber;
     private BigDecimal bidAmount;
     private Bid.BidStatus status;
     private LocalDateTime createdAt;
+    private String orderRecipientId;
+    private String processServerId;
+    private String comment;
+    private BigDecimal customerCounterAmount;
+    private String customerCounterNotes;
+    private Integer counterOfferCount;
+    private String lastCounterBy;
+    private LocalDateTime updatedAt;
+    private Long version;
 }
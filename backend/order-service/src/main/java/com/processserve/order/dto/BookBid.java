@@ -0,0 +1,27 @@
+package com.processserve.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A pending bid as held in the in-memory bid book. Instances are replaced,
+ * never modified, once they are in the book (they are keys of its sorted set).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBid {
+    private String bidId;
+    private String recipientId;
+    private String orderId;
+    private String processServerId;
+    private BigDecimal bidAmount;
+    private BigDecimal customerCounterAmount;
+    private String lastCounterBy;
+    private Integer counterOfferCount;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,42 @@
+package com.processserve.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.processserve.order.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one row of a bulk order import, streamed back as an NDJSON line
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRowResult {
+
+    public enum Status {
+        CREATED, INVALID, FAILED
+    }
+
+    // Line number in the uploaded file
+    private int row;
+    private Status status;
+    private String orderId;
+    private String orderNumber;
+    private List<String> errors;
+
+    public static ImportRowResult created(int row, Order order) {
+        return new ImportRowResult(row, Status.CREATED, order.getId(), order.getOrderNumber(), null);
+    }
+
+    public static ImportRowResult invalid(int row, List<String> errors) {
+        return new ImportRowResult(row, Status.INVALID, null, null, errors);
+    }
+
+    public static ImportRowResult failed(int row, String error) {
+        return new ImportRowResult(row, Status.FAILED, null, null, List.of(String.valueOf(error)));
+    }
+}
@@ -0,0 +1,21 @@
+package com.processserve.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as
+ * {@code cursor} to fetch the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+}
@@ -0,0 +1,22 @@
+package com.processserve.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An AUTOMATED recipient still open for bids, as scheduled by the auction
+ * close engine. The auction opened when its order was created.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenAuction {
+    private String recipientId;
+    private String orderId;
+    private String tenantId;
+    private String recipientZipCode;
+    private LocalDateTime openedAt;
+}
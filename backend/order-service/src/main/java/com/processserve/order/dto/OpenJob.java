@@ -0,0 +1,41 @@
+package com.processserve.order.dto;
+
+import com.processserve.order.entity.OrderRecipient;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An open (OPEN/BIDDING) recipient in the process-server job feed.
+ * {@code sequence} orders changes for incremental polling and is ignored by equals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenJob {
+    private String recipientId;
+    private String orderId;
+    private String orderNumber;
+    private String tenantId;
+    private String recipientZipCode;
+    private String city;
+    private String state;
+    private OrderRecipient.RecipientStatus status;
+    private OrderRecipient.RecipientType recipientType;
+    private Boolean rushService;
+    private LocalDateTime deadline;
+
+    @EqualsAndHashCode.Exclude
+    private long sequence;
+
+    // Used by the rebuild query; the sequence is assigned by the index
+    public OpenJob(String recipientId, String orderId, String orderNumber, String tenantId,
+            String recipientZipCode, String city, String state, OrderRecipient.RecipientStatus status,
+            OrderRecipient.RecipientType recipientType, Boolean rushService, LocalDateTime deadline) {
+        this(recipientId, orderId, orderNumber, tenantId, recipientZipCode, city, state, status, recipientType,
+                rushService, deadline, 0L);
+    }
+}
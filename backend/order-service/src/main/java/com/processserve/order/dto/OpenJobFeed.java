@@ -0,0 +1,23 @@
+package com.processserve.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of the zip-aware open-job feed. Pass {@code cursor} back as
+ * {@code since} to receive only jobs added/changed and recipients removed
+ * since this response. When {@code fullSync} is true, {@code jobs} is the
+ * complete set and the client should drop anything it holds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenJobFeed {
+    private List<OpenJob> jobs;
+    private List<String> removedRecipientIds;
+    private String cursor;
+    private boolean fullSync;
+}
@@ -0,0 +1,12 @@
+package com.processserve.order.dto;
+
+import com.processserve.order.entity.Order;
+
+/**
+ * Row of a GROUP BY status aggregate over orders
+ */
+public interface OrderStatusCount {
+    Order.OrderStatus getStatus();
+
+    Long getCount();
+}
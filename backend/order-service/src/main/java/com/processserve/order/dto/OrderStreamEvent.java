@@ -0,0 +1,32 @@
+package com.processserve.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order or recipient status change as sent on the order event stream.
+ * {@code id} is the sequence part of the SSE event id; {@code recipientId} is null for order-level
+ * changes and {@code previousStatus} is null for a newly created order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStreamEvent {
+
+    public enum Type {
+        ORDER_STATUS, RECIPIENT_STATUS
+    }
+
+    private long id;
+    private Type type;
+    private String orderId;
+    private String recipientId;
+    private String tenantId;
+    private String customerId;
+    private String previousStatus;
+    private String newStatus;
+    private LocalDateTime occurredAt;
+}
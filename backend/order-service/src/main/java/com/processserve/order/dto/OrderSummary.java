@@ -0,0 +1,89 @@
+package com.processserve.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.processserve.order.entity.Order;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lean row for order list views. Built by a JPQL constructor expression so only
+ * these columns are read and no entity is hydrated; recipients are attached
+ * afterwards from one batched {@link RecipientSummary} query. Field names match
+ * {@link Order} so list clients keep working. Full detail is /api/orders/{id}.
+ */
+@Data
+@NoArgsConstructor
+public class OrderSummary {
+
+    public static final String SELECT = "SELECT new com.processserve.order.dto.OrderSummary("
+            + "o.id, o.tenantId, o.customerId, o.orderNumber, o.customName, o.orderType, o.documentType, "
+            + "o.caseNumber, o.jurisdiction, o.specialInstructions, o.status, o.deadline, o.customerPaymentAmount, "
+            + "o.finalAgreedPrice, o.processServerPayout, o.tenantProfit, o.pricingConfig, o.totalRecipients, "
+            + "o.hasMultipleRecipients, o.createdAt, o.assignedAt, o.completedAt, o.totalsVersion) FROM Order o";
+
+    private String id;
+    private String tenantId;
+    private String customerId;
+    private String orderNumber;
+    private String customName;
+    private Order.OrderType orderType;
+    private Order.DocumentType documentType;
+    private String caseNumber;
+    private String jurisdiction;
+    private String specialInstructions;
+    private Order.OrderStatus status;
+    private LocalDateTime deadline;
+    private BigDecimal customerPaymentAmount;
+    private BigDecimal finalAgreedPrice;
+    private BigDecimal processServerPayout;
+    private BigDecimal tenantProfit;
+    private String pricingConfig;
+    private Integer totalRecipients;
+    private Boolean hasMultipleRecipients;
+    private LocalDateTime createdAt;
+    private LocalDateTime assignedAt;
+    private LocalDateTime completedAt;
+
+    @JsonIgnore
+    private Integer totalsVersion;
+
+    private String customerName;
+    private List<RecipientSummary> recipients = new ArrayList<>();
+
+    public OrderSummary(String id, String tenantId, String customerId, String orderNumber, String customName,
+            Order.OrderType orderType, Order.DocumentType documentType, String caseNumber, String jurisdiction,
+            String specialInstructions, Order.OrderStatus status, LocalDateTime deadline,
+            BigDecimal customerPaymentAmount, BigDecimal finalAgreedPrice, BigDecimal processServerPayout,
+            BigDecimal tenantProfit,
+            String pricingConfig, Integer totalRecipients, Boolean hasMultipleRecipients, LocalDateTime createdAt,
+            LocalDateTime assignedAt, LocalDateTime completedAt, Integer totalsVersion) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.customerId = customerId;
+        this.orderNumber = orderNumber;
+        this.customName = customName;
+        this.orderType = orderType;
+        this.documentType = documentType;
+        this.caseNumber = caseNumber;
+        this.jurisdiction = jurisdiction;
+        this.specialInstructions = specialInstructions;
+        this.status = status;
+        this.deadline = deadline;
+        this.customerPaymentAmount = customerPaymentAmount;
+        this.finalAgreedPrice = finalAgreedPrice;
+        this.processServerPayout = processServerPayout;
+        this.tenantProfit = tenantProfit;
+        this.pricingConfig = pricingConfig;
+        this.totalRecipients = totalRecipients;
+        this.hasMultipleRecipients = hasMultipleRecipients;
+        this.createdAt = createdAt;
+        this.assignedAt = assignedAt;
+        this.completedAt = completedAt;
+        this.totalsVersion = totalsVersion;
+    }
+}
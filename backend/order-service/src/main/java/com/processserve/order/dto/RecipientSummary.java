@@ -0,0 +1,48 @@
+package com.processserve.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.processserve.order.entity.OrderRecipient;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Recipient columns shown in order lists (assignment, status, location,
+ * instructions, price)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipientSummary {
+
+    @JsonIgnore
+    private String orderId;
+
+    private String id;
+    private Integer sequenceNumber;
+    private String recipientOrderNumber;
+    private String recipientName;
+    private String firstName;
+    private String lastName;
+    private String organizationName;
+    private OrderRecipient.RecipientType recipientType;
+    private OrderRecipient.RecipientStatus status;
+    private String assignedProcessServerId;
+    private String processServerName;
+    private String recipientAddress;
+    private String recipientZipCode;
+    private String city;
+    private String state;
+    private String specialInstructions;
+    private Boolean processService;
+    private Boolean certifiedMail;
+    private Boolean rushService;
+    private Boolean remoteLocation;
+    private Integer attemptCount;
+    private Integer maxAttempts;
+    private BigDecimal finalAgreedPrice;
+    private LocalDateTime deliveredAt;
+}
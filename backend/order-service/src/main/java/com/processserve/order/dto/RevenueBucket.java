@@ -0,0 +1,15 @@
+package com.processserve.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection for revenue rollups summed across tenants per bucket
+ */
+public interface RevenueBucket {
+    LocalDateTime getBucketStart();
+
+    BigDecimal getAmount();
+
+    Long getEntryCount();
+}
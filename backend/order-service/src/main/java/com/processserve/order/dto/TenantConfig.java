@@ -0,0 +1,26 @@
+package com.processserve.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Tenant settings order-service reads on hot paths, parsed once when the
+ * tenant is loaded into TenantConfigCache. {@code commissionRate} and
+ * {@code auctionCloseMinutes} are null when the tenant's pricingConfig does
+ * not set them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantConfig {
+    private String tenantId;
+    private String name;
+    private boolean active;
+    private BigDecimal commissionRate;
+    private Integer auctionCloseMinutes;
+    private Map<String, Object> pricingConfig;
+}
@@ -0,0 +1,59 @@
+package com.processserve.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * BatchJobCheckpoint - progress of a chunked background job, one row per job.
+ * lastProcessedId is the keyset position up to which every chunk has committed,
+ * so a restarted job resumes right after it.
+ */
+@Entity
+@Table(name = "batch_job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "last_processed_id", length = 36)
+    private String lastProcessedId;
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount = 0L;
+
+    @Column(name = "updated_count", nullable = false)
+    private Long updatedCount = 0L;
+
+    @Column(name = "failed_count", nullable = false)
+    private Long failedCount = 0L;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public enum JobStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -1,6 +1,7 @@
 package com.processserve.order.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.processserve.order.event.BidBookListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,7 +13,22 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bids")
+// Bid acceptance: bid -> recipient -> order -> all recipients (for the status roll-up)
+@NamedEntityGraph(name = "Bid.acceptance",
+    attributeNodes = @NamedAttributeNode(value = "recipient", subgraph = "recipient.order"),
+    subgraphs = {
+        @NamedSubgraph(name = "recipient.order",
+            attributeNodes = @NamedAttributeNode(value = "order", subgraph = "order.recipients")),
+        @NamedSubgraph(name = "order.recipients", attributeNodes = @NamedAttributeNode("recipients"))
+    })
+@EntityListeners(BidBookListener.class)
+@Table(name = "bids",
+    indexes = {
+        @Index(name = "idx_bids_recipient_server_status", columnList = "order_recipient_id,process_server_id,status"),
+        @Index(name = "idx_bids_status", columnList = "status"),
+        @Index(name = "idx_bids_server_created", columnList = "process_server_id,created_at")
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -64,6 +80,10 @@ public class Bid {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+
     public enum BidStatus {
         PENDING, ACCEPTED, REJECTED, WITHDRAWN
     }
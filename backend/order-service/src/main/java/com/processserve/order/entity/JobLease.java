@@ -0,0 +1,31 @@
+package com.processserve.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JobLease - which instance currently owns a cluster-wide job, one row per job.
+ * The owner holds the job until leaseUntil; after that (or once released) any
+ * instance may take it over.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "lease_name", length = 100)
+    private String name;
+
+    @Column(length = 64)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
@@ -1,10 +1,12 @@
 package com.processserve.order.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.processserve.order.event.OrderDetailCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -13,7 +15,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+// Detail view: recipients in the same query; documents (a second bag) are
+// batch-loaded, since Hibernate cannot join-fetch two lists at once
+@NamedEntityGraph(name = "Order.detail", attributeNodes = @NamedAttributeNode("recipients"))
+@EntityListeners(OrderDetailCacheListener.class)
+@Table(name = "orders",
+    indexes = {
+        @Index(name = "idx_orders_tenant_created", columnList = "tenant_id,created_at,id"),
+        @Index(name = "idx_orders_status_created", columnList = "status,created_at,id"),
+        @Index(name = "idx_orders_customer_status", columnList = "customer_id,status"),
+        @Index(name = "idx_orders_tenant_status", columnList = "tenant_id,status")
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -159,11 +172,24 @@ public class Order {
     @Column(name = "modification_count")
     private Integer modificationCount = 0;
 
+    // OrderTotalsService.TOTALS_VERSION the stored totals were computed with;
+    // null/older means they are stale and get repaired in the background
+    @Column(name = "totals_version")
+    private Integer totalsVersion;
+
+    // Optimistic lock: concurrent writers of the same row fail instead of overwriting
+    // each other (existing rows start at 0 via the column default)
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @JsonManagedReference("order-recipients")
     private List<OrderRecipient> recipients = new ArrayList<>();
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @JsonManagedReference("order-documents")
     private List<OrderDocument> documents = new ArrayList<>();
 
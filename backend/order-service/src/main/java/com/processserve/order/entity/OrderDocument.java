@@ -1,6 +1,7 @@
 package com.processserve.order.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.processserve.order.event.OrderDetailCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
  * Supports multiple document uploads with metadata like file size, page count, etc.
  */
 @Entity
+@EntityListeners(OrderDetailCacheListener.class)
 @Table(name = "order_documents")
 @Data
 @NoArgsConstructor
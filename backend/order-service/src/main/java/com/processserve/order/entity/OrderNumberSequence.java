@@ -0,0 +1,26 @@
+package com.processserve.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OrderNumberSequence - high-water mark for ORD-YYYY-NNN numbers, one row per year.
+ * Instances reserve blocks of numbers by advancing next_value under a row lock.
+ */
+@Entity
+@Table(name = "order_number_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderNumberSequence {
+
+    @Id
+    @Column(name = "seq_year")
+    private Integer year;
+
+    // First number not yet handed out to any instance
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -2,10 +2,13 @@ package com.processserve.order.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.processserve.order.event.OpenJobIndexListener;
+import com.processserve.order.event.OrderDetailCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -14,7 +17,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "order_recipients")
+// Attempt recording: the recipient plus its order and sibling recipients, which
+// decide whether the order completes
+@NamedEntityGraph(name = "OrderRecipient.attemptRecording",
+    attributeNodes = @NamedAttributeNode(value = "order", subgraph = "order.recipients"),
+    subgraphs = @NamedSubgraph(name = "order.recipients", attributeNodes = @NamedAttributeNode("recipients")))
+@EntityListeners({OpenJobIndexListener.class, OrderDetailCacheListener.class})
+@Table(name = "order_recipients",
+    indexes = {
+        @Index(name = "idx_recipients_order_status", columnList = "order_id,status"),
+        @Index(name = "idx_recipients_assigned_server", columnList = "assigned_process_server_id")
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -131,7 +145,13 @@ public class OrderRecipient {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Optimistic lock version (see Order.version)
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+
     @OneToMany(mappedBy = "recipient", cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     @JsonManagedReference("recipient-attempts")
     private List<ProcessServerAttempt> attempts = new ArrayList<>();
 
@@ -0,0 +1,44 @@
+package com.processserve.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OrderSearchToken - one row per (order, normalized word) in the case search
+ * index. Words come from the order number, case number, jurisdiction, custom
+ * name and recipient names; prefix searches become index range scans on
+ * (tenant_id, token) instead of LIKE '%q%' scans over orders.
+ *
+ * Rows are written by OrderSearchService with one multi-row INSERT per order,
+ * not through persist: IDENTITY ids would turn saveAll into one INSERT per row.
+ */
+@Entity
+@Table(name = "order_search_tokens",
+    indexes = {
+        @Index(name = "idx_search_tokens_tenant_token", columnList = "tenant_id,token,order_id"),
+        @Index(name = "idx_search_tokens_token", columnList = "token,order_id"),
+        @Index(name = "idx_search_tokens_order", columnList = "order_id")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchToken {
+
+    public static final int MAX_TOKEN_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", length = 36, nullable = false)
+    private String orderId;
+
+    @Column(name = "tenant_id", length = 36, nullable = false)
+    private String tenantId;
+
+    @Column(nullable = false, length = MAX_TOKEN_LENGTH)
+    private String token;
+}
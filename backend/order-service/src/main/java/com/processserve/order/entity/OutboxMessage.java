@@ -0,0 +1,73 @@
+package com.processserve.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * OutboxMessage - a call to another service (notification, user stats, contact
+ * book) recorded in the same transaction as the change that caused it and
+ * delivered later by OutboxDispatcher.
+ *
+ * Lifecycle: PENDING -> SENT, or PENDING -> DEAD after maxAttempts failures.
+ */
+@Entity
+@Table(name = "outbox_messages",
+    indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status,next_attempt_at")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private MessageType type;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload; // JSON
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MessageStatus status = MessageStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    // Earliest time the dispatcher may (re)try; also acts as a lease while in flight
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "related_order_id", length = 36)
+    private String relatedOrderId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public enum MessageType {
+        NOTIFICATION,
+        PROCESS_SERVER_STATS,
+        CONTACT_AUTO_ADD
+    }
+
+    public enum MessageStatus {
+        PENDING,
+        SENT,
+        DEAD
+    }
+}
@@ -1,6 +1,7 @@
 package com.processserve.order.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.processserve.order.event.OrderDetailCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +12,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(OrderDetailCacheListener.class)
 @Table(name = "delivery_attempts")
 @Data
 @NoArgsConstructor
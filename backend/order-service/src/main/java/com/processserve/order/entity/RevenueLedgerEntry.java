@@ -0,0 +1,57 @@
+package com.processserve.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * RevenueLedgerEntry - append-only record of platform (super admin fee) revenue.
+ * Each row is the change in an order's super admin fee at the moment it was
+ * finalised, so the sum of an order's rows always equals its current fee
+ * (zero once cancelled). Rows are never updated or deleted.
+ */
+@Entity
+@Table(name = "revenue_ledger",
+    indexes = {
+        @Index(name = "idx_revenue_ledger_order", columnList = "order_id"),
+        @Index(name = "idx_revenue_ledger_tenant_created", columnList = "tenant_id,created_at")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", length = 36, nullable = false)
+    private String orderId;
+
+    @Column(name = "tenant_id", length = 36, nullable = false)
+    private String tenantId;
+
+    // Signed delta of the order's super admin fee
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Source source;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Source {
+        BID_ACCEPTED,
+        ORDER_COMPLETED,
+        ORDER_CANCELLED,
+        RECALCULATION,
+        BACKFILL
+    }
+}
@@ -0,0 +1,56 @@
+package com.processserve.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * RevenueRollup - per-tenant revenue totals for one hour or one day, maintained
+ * alongside every ledger append so reporting reads a handful of rows.
+ */
+@Entity
+@Table(name = "revenue_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_rollups_bucket", columnNames = { "tenant_id", "granularity", "bucket_start" })
+    },
+    indexes = {
+        @Index(name = "idx_revenue_rollups_granularity_bucket", columnList = "granularity,bucket_start")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", length = 36, nullable = false)
+    private String tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Granularity {
+        HOURLY,
+        DAILY
+    }
+}
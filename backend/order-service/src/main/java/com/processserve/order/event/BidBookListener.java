@@ -0,0 +1,32 @@
+package com.processserve.order.event;
+
+import com.processserve.order.entity.Bid;
+import com.processserve.order.service.BidBook;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on Bid feeding every bid write (new bid, counter-offers,
+ * status changes) into the BidBook. Bulk bid updates bypass it; see
+ * BidService.awardBid.
+ */
+@Component
+public class BidBookListener {
+
+    private final ObjectProvider<BidBook> bidBook;
+
+    public BidBookListener(ObjectProvider<BidBook> bidBook) {
+        this.bidBook = bidBook;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Bid bid) {
+        BidBook book = bidBook.getIfAvailable();
+        if (book != null) {
+            book.bidChanged(bid);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.processserve.order.event;
+
+import com.processserve.order.entity.OrderRecipient;
+import com.processserve.order.service.OpenJobIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on OrderRecipient feeding every recipient write (status,
+ * zip, assignment) into the OpenJobIndex. The index is looked up lazily
+ * because listeners are created while the EntityManagerFactory is built.
+ */
+@Component
+public class OpenJobIndexListener {
+
+    private final ObjectProvider<OpenJobIndex> openJobIndex;
+
+    public OpenJobIndexListener(ObjectProvider<OpenJobIndex> openJobIndex) {
+        this.openJobIndex = openJobIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(OrderRecipient recipient) {
+        OpenJobIndex index = openJobIndex.getIfAvailable();
+        if (index != null) {
+            index.recipientChanged(recipient);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(OrderRecipient recipient) {
+        OpenJobIndex index = openJobIndex.getIfAvailable();
+        if (index != null) {
+            index.recipientRemoved(recipient);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.processserve.order.event;
+
+import com.processserve.order.entity.Order;
+import com.processserve.order.entity.OrderDocument;
+import com.processserve.order.entity.OrderRecipient;
+import com.processserve.order.entity.ProcessServerAttempt;
+import com.processserve.order.service.OrderDetailCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on Order and everything serialized with it (recipients,
+ * documents, attempts) that drops the order from the OrderDetailCache after
+ * the writing transaction commits. This covers every mutating path in
+ * OrderService, BidService and the background jobs without each of them
+ * having to remember to invalidate.
+ */
+@Component
+public class OrderDetailCacheListener {
+
+    private final ObjectProvider<OrderDetailCache> orderDetailCache;
+
+    public OrderDetailCacheListener(ObjectProvider<OrderDetailCache> orderDetailCache) {
+        this.orderDetailCache = orderDetailCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        OrderDetailCache cache = orderDetailCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        if (entity instanceof ProcessServerAttempt attempt && !Hibernate.isInitialized(attempt.getRecipient())) {
+            // Never trigger a lazy load from inside a flush; fall back to dropping everything
+            cache.clearAfterCommit();
+            return;
+        }
+        cache.invalidateAfterCommit(orderId(entity));
+    }
+
+    private String orderId(Object entity) {
+        // getId() on an uninitialized proxy does not load it
+        if (entity instanceof Order order) {
+            return order.getId();
+        }
+        if (entity instanceof OrderRecipient recipient) {
+            return recipient.getOrder() != null ? recipient.getOrder().getId() : null;
+        }
+        if (entity instanceof OrderDocument document) {
+            return document.getOrder() != null ? document.getOrder().getId() : null;
+        }
+        if (entity instanceof ProcessServerAttempt attempt && attempt.getRecipient() != null) {
+            return orderId(attempt.getRecipient());
+        }
+        return null;
+    }
+}
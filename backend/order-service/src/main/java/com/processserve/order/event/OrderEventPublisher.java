@@ -0,0 +1,49 @@
+package com.processserve.order.event;
+
+import com.processserve.order.entity.Order;
+import com.processserve.order.entity.OrderRecipient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single place where order lifecycle events are raised. Listeners that touch
+ * in-memory state should use @TransactionalEventListener(AFTER_COMMIT) so they
+ * only see changes that were actually committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventPublisher {
+
+    private final ApplicationEventPublisher publisher;
+
+    public void orderCreated(Order order) {
+        publisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getTenantId(),
+                order.getCustomerId(), null, order.getStatus()));
+    }
+
+    /**
+     * Set the order's status and publish a transition event if it actually changed
+     */
+    public void transition(Order order, Order.OrderStatus newStatus) {
+        Order.OrderStatus previous = order.getStatus();
+        order.setStatus(newStatus);
+        if (previous != newStatus) {
+            publisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getTenantId(),
+                    order.getCustomerId(), previous, newStatus));
+        }
+    }
+
+    /**
+     * Set the recipient's status and publish a transition event if it actually changed
+     */
+    public void recipientTransition(OrderRecipient recipient, OrderRecipient.RecipientStatus newStatus) {
+        OrderRecipient.RecipientStatus previous = recipient.getStatus();
+        recipient.setStatus(newStatus);
+        if (previous != newStatus) {
+            Order order = recipient.getOrder();
+            publisher.publishEvent(new RecipientStatusChangedEvent(recipient.getId(), order.getId(),
+                    order.getTenantId(), order.getCustomerId(), previous, newStatus));
+        }
+    }
+}
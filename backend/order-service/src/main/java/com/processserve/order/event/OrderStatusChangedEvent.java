@@ -0,0 +1,21 @@
+package com.processserve.order.event;
+
+import com.processserve.order.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published whenever an order moves to a new status, including creation
+ * (previousStatus is null for a newly created order).
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class OrderStatusChangedEvent {
+    private final String orderId;
+    private final String tenantId;
+    private final String customerId;
+    private final Order.OrderStatus previousStatus;
+    private final Order.OrderStatus newStatus;
+}
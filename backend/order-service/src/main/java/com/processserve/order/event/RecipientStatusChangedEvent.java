@@ -0,0 +1,22 @@
+package com.processserve.order.event;
+
+import com.processserve.order.entity.OrderRecipient;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published whenever a recipient of an existing order moves to a new status
+ * (bidding, assignment, delivery attempts).
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class RecipientStatusChangedEvent {
+    private final String recipientId;
+    private final String orderId;
+    private final String tenantId;
+    private final String customerId;
+    private final OrderRecipient.RecipientStatus previousStatus;
+    private final OrderRecipient.RecipientStatus newStatus;
+}
@@ -1,26 +1,31 @@
 package com.processserve.order.repository;
 
+import com.processserve.order.dto.BidDTO;
+import com.processserve.order.dto.BookBid;
 import com.processserve.order.entity.Bid;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BidRepository extends JpaRepository<Bid, String> {
 
-        @Query(value = "SELECT b.* FROM bids b JOIN order_recipients d ON b.order_recipient_id = d.id WHERE d.order_id = :orderId", nativeQuery = true)
-        List<Bid> findByRecipientOrderId(@Param("orderId") String orderId);
+        @EntityGraph("Bid.acceptance")
+        Optional<Bid> findForAcceptanceById(String id);
 
         @Query(value = "SELECT * FROM bids WHERE order_recipient_id = :orderRecipientId", nativeQuery = true)
         List<Bid> findByOrderRecipientId(@Param("orderRecipientId") String orderRecipientId);
 
-        @Query(value = "SELECT * FROM bids WHERE process_server_id = :processServerId", nativeQuery = true)
-        List<Bid> findByProcessServerId(@Param("processServerId") String processServerId);
-
         @Query(value = "SELECT b.* FROM bids b JOIN order_recipients d ON b.order_recipient_id = d.id WHERE d.order_id = :orderId AND b.status = :#{#status.name()}", nativeQuery = true)
         List<Bid> findByRecipientOrderIdAndStatus(@Param("orderId") String orderId,
                         @Param("status") Bid.BidStatus status);
@@ -36,4 +41,82 @@ public interface BidRepository extends JpaRepository<Bid, String> {
         @Query(value = "SELECT COUNT(*) > 0 FROM bids b JOIN order_recipients d ON b.order_recipient_id = d.id WHERE d.order_id = :orderId AND b.process_server_id = :processServerId", nativeQuery = true)
         boolean existsByRecipientOrderIdAndProcessServerId(@Param("orderId") String orderId,
                         @Param("processServerId") String processServerId);
+
+        // Bid listings, newest first, as projections (see BidDTO). The *After variants
+        // continue a keyset page after the (createdAt, id) of its last row.
+        String AFTER_CURSOR = "(b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id))";
+
+        @Query(BidDTO.SELECT + " WHERE b.processServerId = :processServerId AND b.status IN :statuses "
+                        + "ORDER BY b.createdAt DESC, b.id DESC")
+        List<BidDTO> findDTOsByProcessServerId(@Param("processServerId") String processServerId,
+                        @Param("statuses") Collection<Bid.BidStatus> statuses);
+
+        @Query(BidDTO.SELECT + " WHERE b.processServerId = :processServerId AND b.status IN :statuses "
+                        + "ORDER BY b.createdAt DESC, b.id DESC")
+        List<BidDTO> findDTOPageByProcessServerId(@Param("processServerId") String processServerId,
+                        @Param("statuses") Collection<Bid.BidStatus> statuses,
+                        Pageable pageable);
+
+        @Query(BidDTO.SELECT + " WHERE b.processServerId = :processServerId AND b.status IN :statuses AND "
+                        + AFTER_CURSOR + " ORDER BY b.createdAt DESC, b.id DESC")
+        List<BidDTO> findDTOPageByProcessServerIdAfter(@Param("processServerId") String processServerId,
+                        @Param("statuses") Collection<Bid.BidStatus> statuses,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") String id,
+                        Pageable pageable);
+
+        @Query(BidDTO.SELECT + " WHERE o.id = :orderId AND b.status IN :statuses "
+                        + "ORDER BY b.createdAt DESC, b.id DESC")
+        List<BidDTO> findDTOsByOrderId(@Param("orderId") String orderId,
+                        @Param("statuses") Collection<Bid.BidStatus> statuses);
+
+        @Query(BidDTO.SELECT + " WHERE o.id = :orderId AND b.status IN :statuses "
+                        + "ORDER BY b.createdAt DESC, b.id DESC")
+        List<BidDTO> findDTOPageByOrderId(@Param("orderId") String orderId,
+                        @Param("statuses") Collection<Bid.BidStatus> statuses,
+                        Pageable pageable);
+
+        @Query(BidDTO.SELECT + " WHERE o.id = :orderId AND b.status IN :statuses AND " + AFTER_CURSOR
+                        + " ORDER BY b.createdAt DESC, b.id DESC")
+        List<BidDTO> findDTOPageByOrderIdAfter(@Param("orderId") String orderId,
+                        @Param("statuses") Collection<Bid.BidStatus> statuses,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") String id,
+                        Pageable pageable);
+
+        // Bids in the given status with their order - the source BidBook is rebuilt from
+        @Query("SELECT new com.processserve.order.dto.BookBid(b.id, r.id, r.order.id, b.processServerId, "
+                        + "b.bidAmount, b.customerCounterAmount, b.lastCounterBy, b.counterOfferCount, b.createdAt) "
+                        + "FROM Bid b JOIN b.recipient r WHERE b.status = :status")
+        List<BookBid> findBookBids(@Param("status") Bid.BidStatus status);
+
+        // One recipient's bids in the given status, cheapest (then earliest) first -
+        // what an auction close scores
+        @Query("SELECT new com.processserve.order.dto.BookBid(b.id, r.id, r.order.id, b.processServerId, "
+                        + "b.bidAmount, b.customerCounterAmount, b.lastCounterBy, b.counterOfferCount, b.createdAt) "
+                        + "FROM Bid b JOIN b.recipient r WHERE r.id = :recipientId AND b.status = :status "
+                        + "ORDER BY b.bidAmount, b.createdAt, b.id")
+        List<BookBid> findBookBidsByRecipientId(@Param("recipientId") String recipientId,
+                        @Param("status") Bid.BidStatus status,
+                        Pageable pageable);
+
+        // Set-based bid award. These bulk updates bypass the persistence context and
+        // entity listeners, so they bump the @Version column themselves and callers
+        // must not modify the affected Bid entities afterwards in the same transaction.
+
+        // Compare-and-set: awards the bid only if it is still pending; returns 0 when
+        // it was withdrawn, rejected or awarded concurrently
+        @Modifying
+        @Query("UPDATE Bid b SET b.status = com.processserve.order.entity.Bid.BidStatus.ACCEPTED, "
+                        + "b.bidAmount = :amount, b.version = COALESCE(b.version, 0) + 1 "
+                        + "WHERE b.id = :bidId AND b.status = com.processserve.order.entity.Bid.BidStatus.PENDING")
+        int awardIfPending(@Param("bidId") String bidId, @Param("amount") BigDecimal amount);
+
+        @Modifying
+        @Query("UPDATE Bid b SET b.status = com.processserve.order.entity.Bid.BidStatus.REJECTED, "
+                        + "b.version = COALESCE(b.version, 0) + 1 "
+                        + "WHERE b.recipient.id = :recipientId AND b.id <> :winningBidId "
+                        + "AND b.status = com.processserve.order.entity.Bid.BidStatus.PENDING")
+        int rejectOtherPendingBids(@Param("recipientId") String recipientId,
+                        @Param("winningBidId") String winningBidId);
 }
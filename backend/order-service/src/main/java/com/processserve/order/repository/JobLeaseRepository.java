@@ -0,0 +1,37 @@
+package com.processserve.order.repository;
+
+import com.processserve.order.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Create the lease row, unowned. INSERT IGNORE keeps this safe when several
+     * instances try at once.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO job_leases (lease_name, owner, lease_until) "
+            + "VALUES (:name, NULL, '1970-01-01 00:00:00')", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+
+    /**
+     * Take or extend the lease if it is free, expired or already ours. Returns 0
+     * when another instance holds it.
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.leaseUntil = :until WHERE l.name = :name "
+            + "AND (l.owner IS NULL OR l.owner = :owner OR l.leaseUntil < :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = NULL WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
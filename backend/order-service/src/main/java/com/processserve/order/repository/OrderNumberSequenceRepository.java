@@ -0,0 +1,43 @@
+package com.processserve.order.repository;
+
+import com.processserve.order.entity.OrderNumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OrderNumberSequenceRepository extends JpaRepository<OrderNumberSequence, Integer> {
+
+    /**
+     * Advance the year's high-water mark by {@code blockSize} in one statement.
+     * The row stays locked until the reserving transaction commits, so
+     * concurrent replicas get disjoint blocks. Returns 0 if the row is missing.
+     */
+    @Modifying
+    @Query("UPDATE OrderNumberSequence s SET s.nextValue = s.nextValue + :blockSize WHERE s.year = :year")
+    int advance(@Param("year") Integer year, @Param("blockSize") long blockSize);
+
+    @Query("SELECT s.nextValue FROM OrderNumberSequence s WHERE s.year = :year")
+    Optional<Long> findNextValue(@Param("year") Integer year);
+
+    /**
+     * Create the year's row if missing. INSERT IGNORE keeps this safe when two
+     * replicas start a new year at the same time.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO order_number_sequences (seq_year, next_value) VALUES (:year, :nextValue)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("year") Integer year, @Param("nextValue") Long nextValue);
+
+    /**
+     * Highest numeric suffix already used for the year, so a new sequence row
+     * continues after order numbers issued by the old count()+1 scheme
+     */
+    @Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING_INDEX(order_number, '-', -1) AS UNSIGNED)), 0) "
+            + "FROM orders WHERE order_number LIKE CONCAT('ORD-', :year, '-%')", nativeQuery = true)
+    Long findMaxOrderSuffix(@Param("year") Integer year);
+}
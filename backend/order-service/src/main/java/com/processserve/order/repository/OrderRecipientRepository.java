@@ -1,13 +1,90 @@
 package com.processserve.order.repository;
 
+import com.processserve.order.dto.OpenAuction;
+import com.processserve.order.dto.OpenJob;
+import com.processserve.order.dto.RecipientSummary;
+import com.processserve.order.entity.Order;
 import com.processserve.order.entity.OrderRecipient;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRecipientRepository extends JpaRepository<OrderRecipient, String> {
 
     List<OrderRecipient> findByOrderId(String orderId);
+
+    @EntityGraph("OrderRecipient.attemptRecording")
+    Optional<OrderRecipient> findForAttemptById(String id);
+
+    // Recipients for a page of order summaries in one query
+    @Query("SELECT new com.processserve.order.dto.RecipientSummary(r.order.id, r.id, r.sequenceNumber, "
+            + "r.recipientOrderNumber, r.recipientName, r.firstName, r.lastName, r.organizationName, "
+            + "r.recipientType, r.status, r.assignedProcessServerId, r.processServerName, r.recipientAddress, "
+            + "r.recipientZipCode, r.city, r.state, r.specialInstructions, r.processService, r.certifiedMail, "
+            + "r.rushService, r.remoteLocation, r.attemptCount, r.maxAttempts, r.finalAgreedPrice, r.deliveredAt) "
+            + "FROM OrderRecipient r WHERE r.order.id IN :orderIds ORDER BY r.sequenceNumber")
+    List<RecipientSummary> findSummariesByOrderIdIn(@Param("orderIds") Collection<String> orderIds);
+
+    // Open recipients on open orders - the source OpenJobIndex is rebuilt from
+    @Query("SELECT new com.processserve.order.dto.OpenJob(r.id, o.id, o.orderNumber, o.tenantId, "
+            + "r.recipientZipCode, r.city, r.state, r.status, r.recipientType, r.rushService, o.deadline) "
+            + "FROM OrderRecipient r JOIN r.order o "
+            + "WHERE r.status IN :recipientStatuses AND o.status IN :orderStatuses")
+    List<OpenJob> findOpenJobs(@Param("recipientStatuses") Collection<OrderRecipient.RecipientStatus> recipientStatuses,
+            @Param("orderStatuses") Collection<Order.OrderStatus> orderStatuses);
+
+    // Reads the order_id column; no join and no entity load
+    @Query("SELECT r.order.id FROM OrderRecipient r WHERE r.id = :recipientId")
+    Optional<String> findOrderIdById(@Param("recipientId") String recipientId);
+
+    // One recipient as an open job, if it and its order are open
+    @Query("SELECT new com.processserve.order.dto.OpenJob(r.id, o.id, o.orderNumber, o.tenantId, "
+            + "r.recipientZipCode, r.city, r.state, r.status, r.recipientType, r.rushService, o.deadline) "
+            + "FROM OrderRecipient r JOIN r.order o "
+            + "WHERE r.id = :recipientId AND r.status IN :recipientStatuses AND o.status IN :orderStatuses")
+    Optional<OpenJob> findOpenJob(@Param("recipientId") String recipientId,
+            @Param("recipientStatuses") Collection<OrderRecipient.RecipientStatus> recipientStatuses,
+            @Param("orderStatuses") Collection<Order.OrderStatus> orderStatuses);
+
+    // Status roll-up: recipients of the order not (yet) in one of the given statuses
+    @Query("SELECT COUNT(r) FROM OrderRecipient r WHERE r.order.id = :orderId AND r.status NOT IN :statuses")
+    long countByOrderIdAndStatusNotIn(@Param("orderId") String orderId,
+            @Param("statuses") Collection<OrderRecipient.RecipientStatus> statuses);
+
+    // AUTOMATED recipients open for bids on open orders - the auction close engine's schedule
+    @Query("SELECT new com.processserve.order.dto.OpenAuction(r.id, o.id, o.tenantId, r.recipientZipCode, o.createdAt) "
+            + "FROM OrderRecipient r JOIN r.order o "
+            + "WHERE r.recipientType = com.processserve.order.entity.OrderRecipient.RecipientType.AUTOMATED "
+            + "AND r.status IN :recipientStatuses AND o.status IN :orderStatuses")
+    List<OpenAuction> findOpenAuctions(
+            @Param("recipientStatuses") Collection<OrderRecipient.RecipientStatus> recipientStatuses,
+            @Param("orderStatuses") Collection<Order.OrderStatus> orderStatuses);
+
+    @Query("SELECT new com.processserve.order.dto.OpenAuction(r.id, o.id, o.tenantId, r.recipientZipCode, o.createdAt) "
+            + "FROM OrderRecipient r JOIN r.order o "
+            + "WHERE o.id = :orderId "
+            + "AND r.recipientType = com.processserve.order.entity.OrderRecipient.RecipientType.AUTOMATED "
+            + "AND r.status IN :recipientStatuses")
+    List<OpenAuction> findOpenAuctionsByOrderId(@Param("orderId") String orderId,
+            @Param("recipientStatuses") Collection<OrderRecipient.RecipientStatus> recipientStatuses);
+
+    // Open auctions of orders created since :since - a range on idx_orders_status_created
+    @Query("SELECT new com.processserve.order.dto.OpenAuction(r.id, o.id, o.tenantId, r.recipientZipCode, o.createdAt) "
+            + "FROM OrderRecipient r JOIN r.order o "
+            + "WHERE o.status IN :orderStatuses AND o.createdAt >= :since "
+            + "AND r.recipientType = com.processserve.order.entity.OrderRecipient.RecipientType.AUTOMATED "
+            + "AND r.status IN :recipientStatuses")
+    List<OpenAuction> findOpenAuctionsCreatedSince(@Param("since") LocalDateTime since,
+            @Param("recipientStatuses") Collection<OrderRecipient.RecipientStatus> recipientStatuses,
+            @Param("orderStatuses") Collection<Order.OrderStatus> orderStatuses);
+
+    boolean existsByIdAndStatusIn(String id, Collection<OrderRecipient.RecipientStatus> statuses);
 }
@@ -1,13 +1,25 @@
 package com.processserve.order.repository;
 
+import com.processserve.order.dto.OrderStatusCount;
+import com.processserve.order.dto.OrderSummary;
+import com.processserve.order.entity.Bid;
 import com.processserve.order.entity.Order;
+import com.processserve.order.entity.OrderRecipient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
@@ -20,6 +32,10 @@ public interface OrderRepository extends JpaRepository<Order, String> {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
+    // Order with its recipients in one query (see Order.detail)
+    @EntityGraph("Order.detail")
+    Optional<Order> findDetailById(String id);
+
     @Query("SELECT DISTINCT o FROM Order o JOIN o.recipients d WHERE d.assignedProcessServerId = :processServerId ORDER BY o.completedAt DESC")
     List<Order> findTop15ByAssignedProcessServerIdOrderByCompletedAtDesc(
             @Param("processServerId") String processServerId);
@@ -37,8 +53,123 @@ public interface OrderRepository extends JpaRepository<Order, String> {
 
     List<Order> findByCaseNumberAndJurisdiction(String caseNumber, String jurisdiction);
 
-    @Query("SELECT o FROM Order o WHERE o.caseNumber LIKE %:query% OR o.jurisdiction LIKE %:query%")
-    List<Order> searchByCaseInfo(@Param("query") String query);
-
     List<Order> findByCustomerIdAndStatus(String customerId, Order.OrderStatus status);
+
+    // ============================================
+    // List views: OrderSummary constructor projections (no entity hydration),
+    // keyset (seek) pagination on (created_at DESC, id DESC)
+    // Backed by idx_orders_tenant_created / idx_orders_status_created
+    // ============================================
+
+    String AVAILABLE_FILTER = "(o.status IN :openStatuses OR (o.status = :partialStatus AND EXISTS ("
+            + "SELECT r.id FROM OrderRecipient r WHERE r.order = o AND r.status IN :openRecipientStatuses)))";
+
+    String AFTER_CURSOR = "(o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id))";
+
+    @Query(OrderSummary.SELECT + " WHERE o.customerId = :customerId ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findCustomerSummaries(@Param("customerId") String customerId);
+
+    @Query(OrderSummary.SELECT + " WHERE o.tenantId = :tenantId AND o.status IN :statuses "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findTenantSummaries(@Param("tenantId") String tenantId,
+            @Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    @Query(OrderSummary.SELECT + " WHERE o.tenantId = :tenantId AND o.status IN :statuses "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findTenantPage(@Param("tenantId") String tenantId,
+            @Param("statuses") Collection<Order.OrderStatus> statuses,
+            Pageable pageable);
+
+    @Query(OrderSummary.SELECT + " WHERE o.tenantId = :tenantId AND o.status IN :statuses AND " + AFTER_CURSOR
+            + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findTenantPageAfter(@Param("tenantId") String tenantId,
+            @Param("statuses") Collection<Order.OrderStatus> statuses,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable);
+
+    @Query(OrderSummary.SELECT + " WHERE " + AVAILABLE_FILTER + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findAvailable(@Param("openStatuses") Collection<Order.OrderStatus> openStatuses,
+            @Param("partialStatus") Order.OrderStatus partialStatus,
+            @Param("openRecipientStatuses") Collection<OrderRecipient.RecipientStatus> openRecipientStatuses);
+
+    @Query(OrderSummary.SELECT + " WHERE " + AVAILABLE_FILTER + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findAvailablePage(@Param("openStatuses") Collection<Order.OrderStatus> openStatuses,
+            @Param("partialStatus") Order.OrderStatus partialStatus,
+            @Param("openRecipientStatuses") Collection<OrderRecipient.RecipientStatus> openRecipientStatuses,
+            Pageable pageable);
+
+    @Query(OrderSummary.SELECT + " WHERE " + AVAILABLE_FILTER + " AND " + AFTER_CURSOR
+            + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findAvailablePageAfter(@Param("openStatuses") Collection<Order.OrderStatus> openStatuses,
+            @Param("partialStatus") Order.OrderStatus partialStatus,
+            @Param("openRecipientStatuses") Collection<OrderRecipient.RecipientStatus> openRecipientStatuses,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable);
+
+    // Process-server feed: orders with a recipient assigned to the server either
+    // directly (GUIDED) or through an ACCEPTED bid (AUTOMATED), in one query
+    String ASSIGNED_TO_SERVER_FILTER = "EXISTS (SELECT r.id FROM OrderRecipient r WHERE r.order = o "
+            + "AND r.assignedProcessServerId = :processServerId AND (r.recipientType = :guidedType OR EXISTS ("
+            + "SELECT b.id FROM Bid b WHERE b.orderRecipientId = r.id AND b.processServerId = :processServerId "
+            + "AND b.status = :acceptedStatus)))";
+
+    @Query(OrderSummary.SELECT + " WHERE " + ASSIGNED_TO_SERVER_FILTER + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findAssignedToProcessServer(@Param("processServerId") String processServerId,
+            @Param("guidedType") OrderRecipient.RecipientType guidedType,
+            @Param("acceptedStatus") Bid.BidStatus acceptedStatus);
+
+    @Query(OrderSummary.SELECT + " WHERE " + ASSIGNED_TO_SERVER_FILTER + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findAssignedToProcessServerPage(@Param("processServerId") String processServerId,
+            @Param("guidedType") OrderRecipient.RecipientType guidedType,
+            @Param("acceptedStatus") Bid.BidStatus acceptedStatus,
+            Pageable pageable);
+
+    @Query(OrderSummary.SELECT + " WHERE " + ASSIGNED_TO_SERVER_FILTER + " AND " + AFTER_CURSOR
+            + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findAssignedToProcessServerPageAfter(@Param("processServerId") String processServerId,
+            @Param("guidedType") OrderRecipient.RecipientType guidedType,
+            @Param("acceptedStatus") Bid.BidStatus acceptedStatus,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable);
+
+    // Search results: one page of ids picked by the case search index, newest first
+    @Query(OrderSummary.SELECT + " WHERE o.id IN :ids ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findSummariesByIdIn(@Param("ids") Collection<String> ids, Pageable pageable);
+
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByIdInNewestFirst(@Param("ids") Collection<String> ids);
+
+    // Export: forward-only result stream. A fetch size of Integer.MIN_VALUE makes
+    // MySQL Connector/J stream rows instead of buffering the whole result set.
+    // Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query(OrderSummary.SELECT + " WHERE o.tenantId = :tenantId AND o.status IN :statuses "
+            + "AND o.createdAt >= :from AND o.createdAt < :to ORDER BY o.createdAt, o.id")
+    Stream<OrderSummary> streamForExport(@Param("tenantId") String tenantId,
+            @Param("statuses") Collection<Order.OrderStatus> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // Keyset walk over all order ids (search index backfill)
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Pageable pageable);
+
+    // Chunk boundaries for the recalculation job, keyset-ordered by id
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.customerPaymentAmount IS NOT NULL "
+            + "AND o.id > :afterId ORDER BY o.id")
+    List<String> findIdsForRecalculation(@Param("status") Order.OrderStatus status,
+            @Param("afterId") String afterId,
+            Pageable pageable);
+
+    // Status counts for dashboards - one GROUP BY instead of loading every order
+    @Query("SELECT o.status AS status, COUNT(o) AS count FROM Order o WHERE o.customerId = :customerId "
+            + "GROUP BY o.status")
+    List<OrderStatusCount> countByStatusForCustomer(@Param("customerId") String customerId);
+
+    @Query("SELECT o.status AS status, COUNT(o) AS count FROM Order o WHERE o.tenantId = :tenantId "
+            + "GROUP BY o.status")
+    List<OrderStatusCount> countByStatusForTenant(@Param("tenantId") String tenantId);
 }
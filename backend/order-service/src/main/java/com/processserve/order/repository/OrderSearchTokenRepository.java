@@ -0,0 +1,16 @@
+package com.processserve.order.repository;
+
+import com.processserve.order.entity.OrderSearchToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderSearchTokenRepository extends JpaRepository<OrderSearchToken, Long> {
+
+    @Modifying
+    @Query("DELETE FROM OrderSearchToken t WHERE t.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") String orderId);
+}
@@ -0,0 +1,40 @@
+package com.processserve.order.repository;
+
+import com.processserve.order.entity.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Due messages, locked FOR UPDATE SKIP LOCKED (lock timeout -2) so several
+     * order-service replicas can claim disjoint batches concurrently
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<OutboxMessage> findDueForUpdate(@Param("status") OutboxMessage.MessageStatus status,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    List<OutboxMessage> findByStatusOrderByIdDesc(OutboxMessage.MessageStatus status, Pageable pageable);
+
+    long countByStatus(OutboxMessage.MessageStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = :status AND m.sentAt < :before")
+    int deleteSentBefore(@Param("status") OutboxMessage.MessageStatus status,
+            @Param("before") LocalDateTime before);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +26,11 @@ public interface ProcessServerPricingRepository extends JpaRepository<ProcessSer
      */
     List<ProcessServerPricing> findByProcessServerIdAndIsActiveTrue(String processServerId);
 
+    /**
+     * Find all active pricing rules for several process servers in one query
+     */
+    List<ProcessServerPricing> findByProcessServerIdInAndIsActiveTrue(Collection<String> processServerIds);
+
     /**
      * Find all pricing rules for a process server (including inactive)
      */
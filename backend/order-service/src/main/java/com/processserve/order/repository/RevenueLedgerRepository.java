@@ -0,0 +1,39 @@
+package com.processserve.order.repository;
+
+import com.processserve.order.entity.RevenueLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface RevenueLedgerRepository extends JpaRepository<RevenueLedgerEntry, Long> {
+
+    /**
+     * Lock the order row (SELECT ... FOR UPDATE) so ledger appends for one order
+     * are serialized across transactions and replicas
+     */
+    @Query(value = "SELECT id FROM orders WHERE id = :orderId FOR UPDATE", nativeQuery = true)
+    String lockOrder(@Param("orderId") String orderId);
+
+    /**
+     * Current ledger total of the order as a locking read, so it sees entries
+     * committed after this transaction's snapshot was taken
+     */
+    @Query(value = "SELECT COALESCE(SUM(amount), 0) FROM revenue_ledger WHERE order_id = :orderId FOR UPDATE",
+            nativeQuery = true)
+    BigDecimal sumByOrderIdForUpdate(@Param("orderId") String orderId);
+
+    /**
+     * One-time seed from existing orders, set-based (no rows pass through the JVM)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revenue_ledger (order_id, tenant_id, amount, source, created_at) "
+            + "SELECT o.id, o.tenant_id, o.super_admin_fee, 'BACKFILL', COALESCE(o.completed_at, o.created_at, NOW()) "
+            + "FROM orders o WHERE o.status <> 'CANCELLED' AND o.super_admin_fee IS NOT NULL "
+            + "AND o.super_admin_fee <> 0", nativeQuery = true)
+    int backfillFromOrders();
+}
@@ -0,0 +1,64 @@
+package com.processserve.order.repository;
+
+import com.processserve.order.dto.RevenueBucket;
+import com.processserve.order.entity.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Long> {
+
+    String RANGE_FILTER = "r.granularity = :granularity AND (:tenantId IS NULL OR r.tenantId = :tenantId) "
+            + "AND (:from IS NULL OR r.bucketStart >= :from) AND (:to IS NULL OR r.bucketStart < :to)";
+
+    /**
+     * Add an amount to a bucket, creating it on first use. Relies on
+     * uk_revenue_rollups_bucket so concurrent writers never create duplicates.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollups (tenant_id, granularity, bucket_start, amount, entry_count, updated_at) "
+            + "VALUES (:tenantId, :granularity, :bucketStart, :amount, 1, NOW()) "
+            + "ON DUPLICATE KEY UPDATE amount = amount + VALUES(amount), entry_count = entry_count + 1, "
+            + "updated_at = NOW()", nativeQuery = true)
+    int addToBucket(@Param("tenantId") String tenantId,
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * Rebuild all rollups of one granularity from the ledger (used after backfill).
+     * Hourly buckets start at the hour, daily buckets at midnight.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollups (tenant_id, granularity, bucket_start, amount, entry_count, updated_at) "
+            + "SELECT e.tenant_id, 'HOURLY', TIMESTAMP(DATE(e.created_at), MAKETIME(HOUR(e.created_at), 0, 0)), "
+            + "SUM(e.amount), COUNT(*), NOW() FROM revenue_ledger e "
+            + "GROUP BY e.tenant_id, DATE(e.created_at), HOUR(e.created_at)", nativeQuery = true)
+    int rebuildHourly();
+
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollups (tenant_id, granularity, bucket_start, amount, entry_count, updated_at) "
+            + "SELECT e.tenant_id, 'DAILY', TIMESTAMP(DATE(e.created_at)), SUM(e.amount), COUNT(*), NOW() "
+            + "FROM revenue_ledger e GROUP BY e.tenant_id, DATE(e.created_at)", nativeQuery = true)
+    int rebuildDaily();
+
+    @Query("SELECT COALESCE(SUM(r.amount), 0) FROM RevenueRollup r WHERE " + RANGE_FILTER)
+    BigDecimal sumRange(@Param("granularity") RevenueRollup.Granularity granularity,
+            @Param("tenantId") String tenantId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT r.bucketStart AS bucketStart, SUM(r.amount) AS amount, SUM(r.entryCount) AS entryCount "
+            + "FROM RevenueRollup r WHERE " + RANGE_FILTER + " GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<RevenueBucket> findBuckets(@Param("granularity") RevenueRollup.Granularity granularity,
+            @Param("tenantId") String tenantId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,433 @@
+package com.processserve.order.service;
+
+import com.processserve.order.client.UserClient;
+import com.processserve.order.dto.BookBid;
+import com.processserve.order.dto.OpenAuction;
+import com.processserve.order.entity.Bid;
+import com.processserve.order.event.OrderStatusChangedEvent;
+import com.processserve.order.repository.BidRepository;
+import com.processserve.order.repository.OrderRecipientRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Closes bidding on AUTOMATED recipients once their tenant's auction window
+ * (pricingConfig "auctionCloseMinutes", else orders.auction.default-close-minutes;
+ * 0 disables) has passed since the order was created, and awards the best
+ * scoring pending bid through BidService.acceptBid.
+ *
+ * Open auctions sit in a priority queue ordered by close time, so each tick
+ * only pops what is due, in batches, instead of scanning recipients. The
+ * queue is fed by new orders and reconciled with the database on startup and
+ * periodically (which also picks up recipients added to existing orders).
+ * Bids are read from the database when an auction closes. An auction that
+ * cannot be awarded yet (no bids, or the award failed) stays scheduled with
+ * a growing backoff.
+ *
+ * Only the instance holding the auction-close lease closes auctions. It also
+ * polls for orders created in the last few minutes on every tick, since
+ * orders created on other instances raise no event here.
+ */
+@Service
+@Slf4j
+public class AuctionCloseEngine {
+
+    static final String CLOSED_METRIC = "orders.auction.closed";
+    private static final int MAX_SCORED_BIDS = 200;
+    private static final String LEASE_NAME = "auction-close";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(1);
+    // Covers orders whose transaction committed a while after created_at was set
+    private static final Duration NEW_ORDER_OVERLAP = Duration.ofMinutes(2);
+
+    private final OrderRecipientRepository recipientRepository;
+    private final BidRepository bidRepository;
+    private final JobLeaseService jobLeaseService;
+    private final BidService bidService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final TenantConfigCache tenantConfigCache;
+    private final UserClient userClient;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int defaultCloseMinutes;
+    private final int batchSize;
+    private final int maxBatchesPerTick;
+    private final double amountWeight;
+    private final double ratingWeight;
+    private final double successWeight;
+    private final double distanceWeight;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+
+    // Guarded by this. Due closes leave the queue but stay in scheduled until
+    // they finish, so a reconcile meanwhile does not schedule them again.
+    private final PriorityQueue<ScheduledClose> queue = new PriorityQueue<>(
+            Comparator.comparing((ScheduledClose close) -> close.closeAt).thenComparing(close -> close.recipientId));
+    private final Map<String, ScheduledClose> scheduled = new HashMap<>();
+    // Orders created since then are polled for by the lease holder
+    private LocalDateTime newOrdersSince;
+
+    public AuctionCloseEngine(OrderRecipientRepository recipientRepository,
+            BidRepository bidRepository,
+            JobLeaseService jobLeaseService,
+            BidService bidService,
+            OptimisticLockRetry optimisticLockRetry,
+            TenantConfigCache tenantConfigCache,
+            UserClient userClient,
+            MeterRegistry meterRegistry,
+            @Value("${orders.auction.enabled:true}") boolean enabled,
+            @Value("${orders.auction.default-close-minutes:0}") int defaultCloseMinutes,
+            @Value("${orders.auction.batch-size:100}") int batchSize,
+            @Value("${orders.auction.max-batches-per-tick:20}") int maxBatchesPerTick,
+            @Value("${orders.auction.weights.amount:0.5}") double amountWeight,
+            @Value("${orders.auction.weights.rating:0.2}") double ratingWeight,
+            @Value("${orders.auction.weights.success-rate:0.2}") double successWeight,
+            @Value("${orders.auction.weights.distance:0.1}") double distanceWeight,
+            @Value("${orders.auction.retry-backoff-ms:60000}") long retryBackoffMillis,
+            @Value("${orders.auction.max-retry-backoff-ms:1800000}") long maxRetryBackoffMillis) {
+        this.recipientRepository = recipientRepository;
+        this.bidRepository = bidRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.bidService = bidService;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.tenantConfigCache = tenantConfigCache;
+        this.userClient = userClient;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultCloseMinutes = defaultCloseMinutes;
+        this.batchSize = batchSize;
+        this.maxBatchesPerTick = maxBatchesPerTick;
+        this.amountWeight = amountWeight;
+        this.ratingWeight = ratingWeight;
+        this.successWeight = successWeight;
+        this.distanceWeight = distanceWeight;
+        this.retryBackoffMillis = Math.max(1, retryBackoffMillis);
+        this.maxRetryBackoffMillis = Math.max(this.retryBackoffMillis, maxRetryBackoffMillis);
+        Gauge.builder("orders.auction.scheduled", this, AuctionCloseEngine::scheduledCount)
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!enabled || event.getPreviousStatus() != null) {
+            return;
+        }
+        // New order: its AUTOMATED recipients open an auction each
+        try {
+            scheduleAll(recipientRepository.findOpenAuctionsByOrderId(event.getOrderId(),
+                    OpenJobIndex.OPEN_RECIPIENT_STATUSES));
+        } catch (Exception e) {
+            log.warn("Could not schedule auctions of order {}: {}", event.getOrderId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Bring the schedule in line with the open auctions in the database: drop
+     * auctions that are no longer open and add missing ones. Auctions already
+     * scheduled keep their close time, including any retry backoff.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${orders.auction.reconcile-interval-ms:300000}",
+            initialDelayString = "${orders.auction.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime loadedAt = LocalDateTime.now();
+        List<OpenAuction> auctions;
+        try {
+            auctions = recipientRepository.findOpenAuctions(OpenJobIndex.OPEN_RECIPIENT_STATUSES,
+                    OpenJobIndex.OPEN_ORDER_STATUSES);
+        } catch (Exception e) {
+            log.error("Failed to load open auctions: {}", e.getMessage());
+            return;
+        }
+        Set<String> open = new HashSet<>();
+        for (OpenAuction auction : auctions) {
+            open.add(auction.getRecipientId());
+        }
+        synchronized (this) {
+            scheduled.keySet().retainAll(open);
+            queue.removeIf(close -> !open.contains(close.recipientId));
+            if (newOrdersSince == null || newOrdersSince.isBefore(loadedAt)) {
+                newOrdersSince = loadedAt;
+            }
+        }
+        scheduleAll(auctions);
+        log.info("Auction schedule reconciled: {} open auctions, {} with a close time", auctions.size(),
+                scheduledCount());
+    }
+
+    /**
+     * On the lease holder: schedule newly created orders, then close every
+     * auction that is due, up to max-batches-per-tick batches
+     */
+    @Scheduled(fixedDelayString = "${orders.auction.tick-ms:5000}")
+    public void closeDueAuctions() {
+        if (!enabled || !jobLeaseService.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            return;
+        }
+        scheduleNewOrders();
+        for (int batch = 0; batch < maxBatchesPerTick; batch++) {
+            if (batch > 0 && !jobLeaseService.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+                log.warn("Lost the auction close lease to another instance");
+                return;
+            }
+            List<ScheduledClose> due = pollDue(LocalDateTime.now(), batchSize);
+            if (due.isEmpty()) {
+                return;
+            }
+            for (ScheduledClose close : due) {
+                close(close);
+            }
+            if (due.size() < batchSize) {
+                return;
+            }
+        }
+        log.warn("Auction close backlog: more than {} auctions due", maxBatchesPerTick * batchSize);
+    }
+
+    public synchronized int scheduledCount() {
+        return scheduled.size();
+    }
+
+    // Orders created on any instance since the previous poll (with an overlap)
+    private void scheduleNewOrders() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since;
+        synchronized (this) {
+            since = (newOrdersSince != null ? newOrdersSince : now).minus(NEW_ORDER_OVERLAP);
+        }
+        try {
+            scheduleAll(recipientRepository.findOpenAuctionsCreatedSince(since, OpenJobIndex.OPEN_RECIPIENT_STATUSES,
+                    OpenJobIndex.OPEN_ORDER_STATUSES));
+        } catch (Exception e) {
+            log.warn("Could not load newly created auctions: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            newOrdersSince = now;
+        }
+    }
+
+    private void scheduleAll(Collection<OpenAuction> auctions) {
+        Map<String, Integer> closeMinutesByTenant = new HashMap<>();
+        List<ScheduledClose> closes = new ArrayList<>();
+        for (OpenAuction auction : auctions) {
+            int minutes = closeMinutesByTenant.computeIfAbsent(auction.getTenantId(), this::closeMinutes);
+            if (minutes > 0 && auction.getOpenedAt() != null) {
+                closes.add(new ScheduledClose(auction.getOpenedAt().plusMinutes(minutes), auction.getRecipientId(),
+                        auction.getRecipientZipCode(), 0));
+            }
+        }
+        synchronized (this) {
+            for (ScheduledClose close : closes) {
+                if (!scheduled.containsKey(close.recipientId)) {
+                    scheduled.put(close.recipientId, close);
+                    queue.add(close);
+                }
+            }
+        }
+    }
+
+    private synchronized List<ScheduledClose> pollDue(LocalDateTime now, int limit) {
+        List<ScheduledClose> due = new ArrayList<>();
+        while (due.size() < limit && !queue.isEmpty() && !queue.peek().closeAt.isAfter(now)) {
+            due.add(queue.poll());
+        }
+        return due;
+    }
+
+    private void close(ScheduledClose close) {
+        List<BookBid> bids;
+        try {
+            bids = bidRepository.findBookBidsByRecipientId(close.recipientId, Bid.BidStatus.PENDING,
+                    PageRequest.of(0, MAX_SCORED_BIDS));
+        } catch (Exception e) {
+            record("failed");
+            log.warn("Could not load bids of auction for recipient {}: {}", close.recipientId, e.getMessage());
+            retry(close);
+            return;
+        }
+        if (bids.isEmpty()) {
+            // Nobody has bid yet, or the recipient was awarded by hand meanwhile
+            if (isStillOpen(close.recipientId)) {
+                record("no_bids");
+                retry(close);
+            } else {
+                finish(close);
+            }
+            return;
+        }
+        BookBid winner = pickWinner(bids, close.recipientZipCode);
+        try {
+            optimisticLockRetry.run("auction-close", () -> bidService.acceptBid(winner.getBidId()));
+            record("awarded");
+            finish(close);
+            log.info("Auction for recipient {} closed: bid {} by {} awarded ({} bids)", close.recipientId,
+                    winner.getBidId(), winner.getProcessServerId(), bids.size());
+        } catch (Exception e) {
+            record("failed");
+            log.warn("Could not award auction for recipient {}: {}", close.recipientId, e.getMessage());
+            retry(close);
+        }
+    }
+
+    private boolean isStillOpen(String recipientId) {
+        try {
+            return recipientRepository.existsByIdAndStatusIn(recipientId, OpenJobIndex.OPEN_RECIPIENT_STATUSES);
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private synchronized void finish(ScheduledClose close) {
+        scheduled.remove(close.recipientId, close);
+    }
+
+    // Try again later, doubling the wait each time up to max-retry-backoff-ms
+    private synchronized void retry(ScheduledClose close) {
+        if (scheduled.get(close.recipientId) != close) {
+            // Dropped by a reconcile meanwhile: no longer open
+            return;
+        }
+        long delay = Math.min(maxRetryBackoffMillis, retryBackoffMillis << Math.min(close.attempts, 20));
+        ScheduledClose next = new ScheduledClose(LocalDateTime.now().plus(Duration.ofMillis(delay)),
+                close.recipientId, close.recipientZipCode, close.attempts + 1);
+        scheduled.put(next.recipientId, next);
+        queue.add(next);
+    }
+
+    /**
+     * Highest score wins. Each factor is scaled to 0..1: price relative to the
+     * cheapest bid, rating out of 5, delivery success rate (smoothed, so new
+     * servers start at 0.5) and zip proximity. The schema has no coordinates,
+     * so proximity is 1 when the server operates in the recipient's zip, 0.5
+     * in the same 3-digit zip area, else 0. {@code bids} come cheapest first.
+     */
+    BookBid pickWinner(List<BookBid> bids, String recipientZipCode) {
+        Map<String, Map<String, Object>> stats = scoringStats(bids);
+        BigDecimal lowest = bids.get(0).getBidAmount();
+
+        BookBid best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (BookBid bid : bids) {
+            Map<String, Object> server = stats.getOrDefault(bid.getProcessServerId(), Map.of());
+            double price = bid.getBidAmount().signum() > 0
+                    ? lowest.divide(bid.getBidAmount(), MathContext.DECIMAL64).doubleValue()
+                    : 1.0;
+            double rating = Math.min(number(server.get("currentRating"), 0) / 5.0, 1.0);
+            double successes = number(server.get("successfulDeliveries"), 0);
+            double failures = number(server.get("failedAfterMaxAttempts"), 0);
+            double successRate = (successes + 1) / (successes + failures + 2);
+            double proximity = proximity(recipientZipCode, server.get("operatingZipCodes"));
+
+            double score = amountWeight * price + ratingWeight * rating + successWeight * successRate
+                    + distanceWeight * proximity;
+            // Bids come cheapest first, so ties keep the cheaper (then earlier) bid
+            if (score > bestScore) {
+                best = bid;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private Map<String, Map<String, Object>> scoringStats(List<BookBid> bids) {
+        List<String> serverIds = bids.stream().map(BookBid::getProcessServerId).distinct().toList();
+        try {
+            Map<String, Map<String, Object>> stats = userClient.getScoringStats(serverIds);
+            return stats != null ? stats : Map.of();
+        } catch (Exception e) {
+            // Fall back to neutral figures: the cheapest bid wins
+            log.warn("Could not load process server stats, scoring on price: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private double proximity(String recipientZipCode, Object operatingZipCodes) {
+        String zip = OpenJobIndex.normalizeZip(recipientZipCode);
+        if (zip == null || !(operatingZipCodes instanceof Collection<?> zips)) {
+            return 0;
+        }
+        double best = 0;
+        for (Object candidate : zips) {
+            String operating = OpenJobIndex.normalizeZip(candidate != null ? candidate.toString() : null);
+            if (operating == null) {
+                continue;
+            }
+            if (operating.equals(zip)) {
+                return 1;
+            }
+            if (operating.length() >= 3 && zip.length() >= 3 && operating.regionMatches(0, zip, 0, 3)) {
+                best = 0.5;
+            }
+        }
+        return best;
+    }
+
+    private int closeMinutes(String tenantId) {
+        try {
+            Integer minutes = tenantConfigCache.get(tenantId).getAuctionCloseMinutes();
+            return minutes != null ? minutes : defaultCloseMinutes;
+        } catch (Exception e) {
+            log.warn("Could not load tenant {} config, using default auction window: {}", tenantId, e.getMessage());
+            return defaultCloseMinutes;
+        }
+    }
+
+    private double number(Object value, double fallback) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.toString());
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+        return fallback;
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter(CLOSED_METRIC, "outcome", outcome).increment();
+    }
+
+    private static final class ScheduledClose {
+        private final LocalDateTime closeAt;
+        private final String recipientId;
+        private final String recipientZipCode;
+        // Closes already tried without an award
+        private final int attempts;
+
+        private ScheduledClose(LocalDateTime closeAt, String recipientId, String recipientZipCode, int attempts) {
+            this.closeAt = closeAt;
+            this.recipientId = recipientId;
+            this.recipientZipCode = recipientZipCode;
+            this.attempts = attempts;
+        }
+    }
+}
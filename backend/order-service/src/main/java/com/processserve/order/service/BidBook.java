@@ -0,0 +1,268 @@
+package com.processserve.order.service;
+
+import com.processserve.order.dto.BidBookView;
+import com.processserve.order.dto.BookBid;
+import com.processserve.order.entity.Bid;
+import com.processserve.order.entity.OrderRecipient;
+import com.processserve.order.repository.BidRepository;
+import com.processserve.order.repository.OrderRecipientRepository;
+import com.processserve.order.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory book of pending bids per recipient, ranked cheapest first, behind
+ * the bidding UI. Best-N is a walk from the head of a sorted set, and count,
+ * lowest/highest and spread come from its size and ends, so queries do not
+ * touch the database however many bids a recipient collects.
+ *
+ * Kept current from bid writes (see BidBookListener) and from bid awards,
+ * which reject every other pending bid in one bulk update, applied after
+ * commit. Rebuilt from the database on startup and reconciled periodically;
+ * changes applied while a rebuild is loading are recorded and replayed onto
+ * the rebuilt book, so they are not lost to the older snapshot.
+ */
+@Service
+@Slf4j
+public class BidBook {
+
+    // Cheapest first; ties go to the earlier bid
+    private static final Comparator<BookBid> RANKING = Comparator
+            .comparing(BookBid::getBidAmount)
+            .thenComparing(BookBid::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(BookBid::getBidId);
+
+    private final BidRepository bidRepository;
+    private final OrderRecipientRepository recipientRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, TreeSet<BookBid>> booksByRecipient = new HashMap<>();
+    private final Map<String, BookBid> bidsById = new HashMap<>();
+    private final Map<String, Set<String>> recipientsByOrder = new HashMap<>();
+    // Changes applied since the running rebuild started loading; null when none runs
+    private List<Runnable> changesDuringRebuild;
+
+    public BidBook(BidRepository bidRepository, OrderRecipientRepository recipientRepository,
+            PlatformTransactionManager transactionManager) {
+        this.bidRepository = bidRepository;
+        this.recipientRepository = recipientRepository;
+        this.readTransaction = AfterCommit.readTransaction(transactionManager);
+    }
+
+    /**
+     * Best {@code limit} pending bids on the recipient plus count and price range
+     */
+    public BidBookView recipientBook(String recipientId, int limit) {
+        lock.readLock().lock();
+        try {
+            return view(recipientId, booksByRecipient.get(recipientId), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One view per recipient of the order that has pending bids
+     */
+    public List<BidBookView> orderBook(String orderId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<BidBookView> views = new ArrayList<>();
+            for (String recipientId : recipientsByOrder.getOrDefault(orderId, Set.of())) {
+                views.add(view(recipientId, booksByRecipient.get(recipientId), limit));
+            }
+            return views;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Record a bid write; applied once the surrounding transaction commits
+     */
+    public void bidChanged(Bid bid) {
+        BookBid entry = bid.getStatus() == Bid.BidStatus.PENDING ? toBookBid(bid) : null;
+        String bidId = bid.getId();
+        AfterCommit.run(() -> {
+            if (entry != null && entry.getOrderId() == null) {
+                entry.setOrderId(findOrderId(entry.getRecipientId()));
+            }
+            apply(() -> {
+                removeLocked(bidId);
+                if (entry != null) {
+                    addLocked(entry);
+                }
+            });
+        });
+    }
+
+    /**
+     * A bid on the recipient was awarded and the rest rejected in bulk: nothing
+     * is pending any more. Applied once the surrounding transaction commits.
+     */
+    public void recipientAwarded(String recipientId) {
+        AfterCommit.run(() -> apply(() -> {
+            TreeSet<BookBid> book = booksByRecipient.get(recipientId);
+            if (book != null) {
+                for (BookBid entry : new ArrayList<>(book)) {
+                    removeLocked(entry.getBidId());
+                }
+            }
+        }));
+    }
+
+    /**
+     * Replace the book with the pending bids in the database. Changes applied
+     * while the bids load are replayed on top, in order; each change sets a
+     * bid's or recipient's final state, so replaying one the snapshot already
+     * contains is harmless.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${orders.bid-book.reconcile-interval-ms:300000}",
+            initialDelayString = "${orders.bid-book.reconcile-interval-ms:300000}")
+    public synchronized void rebuild() {
+        List<Runnable> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<BookBid> pending = null;
+        try {
+            pending = bidRepository.findBookBids(Bid.BidStatus.PENDING);
+        } catch (Exception e) {
+            log.error("Failed to load pending bids: {}", e.getMessage());
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+            if (pending == null) {
+                return;
+            }
+            booksByRecipient.clear();
+            bidsById.clear();
+            recipientsByOrder.clear();
+            pending.forEach(this::addLocked);
+            changes.forEach(Runnable::run);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Bid book rebuilt: {} pending bids, {} changes replayed", pending.size(), changes.size());
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BidBookView view(String recipientId, TreeSet<BookBid> book, int limit) {
+        if (book == null || book.isEmpty()) {
+            return new BidBookView(recipientId, null, 0, null, null, null, List.of());
+        }
+        List<BookBid> best = new ArrayList<>(Math.min(limit, book.size()));
+        Iterator<BookBid> it = book.iterator();
+        while (it.hasNext() && best.size() < limit) {
+            best.add(it.next());
+        }
+        BigDecimal lowest = book.first().getBidAmount();
+        BigDecimal highest = book.last().getBidAmount();
+        return new BidBookView(recipientId, book.first().getOrderId(), book.size(), lowest, highest,
+                highest.subtract(lowest), best);
+    }
+
+    private void addLocked(BookBid entry) {
+        if (entry.getBidAmount() == null || entry.getRecipientId() == null) {
+            return;
+        }
+        bidsById.put(entry.getBidId(), entry);
+        booksByRecipient.computeIfAbsent(entry.getRecipientId(), k -> new TreeSet<>(RANKING)).add(entry);
+        if (entry.getOrderId() != null) {
+            recipientsByOrder.computeIfAbsent(entry.getOrderId(), k -> new HashSet<>()).add(entry.getRecipientId());
+        }
+    }
+
+    private void removeLocked(String bidId) {
+        BookBid entry = bidsById.remove(bidId);
+        if (entry == null) {
+            return;
+        }
+        TreeSet<BookBid> book = booksByRecipient.get(entry.getRecipientId());
+        if (book != null) {
+            book.remove(entry);
+            if (book.isEmpty()) {
+                booksByRecipient.remove(entry.getRecipientId());
+                Set<String> recipients = recipientsByOrder.get(entry.getOrderId());
+                if (recipients != null) {
+                    recipients.remove(entry.getRecipientId());
+                    if (recipients.isEmpty()) {
+                        recipientsByOrder.remove(entry.getOrderId());
+                    }
+                }
+            }
+        }
+    }
+
+    private BookBid toBookBid(Bid bid) {
+        // Never trigger a lazy load from inside a flush; ids of proxies are free.
+        // A still missing order id is read after commit (see bidChanged)
+        OrderRecipient recipient = bid.getRecipient();
+        String recipientId = recipient != null ? recipient.getId() : bid.getOrderRecipientId();
+        String orderId = recipient != null && Hibernate.isInitialized(recipient) && recipient.getOrder() != null
+                ? recipient.getOrder().getId()
+                : orderIdOf(recipientId);
+        return new BookBid(bid.getId(), recipientId, orderId, bid.getProcessServerId(), bid.getBidAmount(),
+                bid.getCustomerCounterAmount(), bid.getLastCounterBy(), bid.getCounterOfferCount(),
+                bid.getCreatedAt());
+    }
+
+    // Order of a recipient already in the book, if any
+    private String orderIdOf(String recipientId) {
+        lock.readLock().lock();
+        try {
+            TreeSet<BookBid> book = booksByRecipient.get(recipientId);
+            return book != null && !book.isEmpty() ? book.first().getOrderId() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Order of a recipient from its order_id column
+    private String findOrderId(String recipientId) {
+        try {
+            return readTransaction.execute(status -> recipientRepository.findOrderIdById(recipientId).orElse(null));
+        } catch (Exception e) {
+            // Left off the order book until the next rebuild
+            log.warn("Failed to load the order of recipient {}: {}", recipientId, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,25 +1,32 @@
 package com.processserve.order.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.processserve.order.client.TenantClient;
 
+import com.processserve.order.dto.BidDTO;
+import com.processserve.order.dto.KeysetPage;
 import com.processserve.order.dto.PlaceBidRequest;
 import com.processserve.order.entity.Bid;
 import com.processserve.order.entity.Order;
 import com.processserve.order.entity.OrderRecipient;
+import com.processserve.order.entity.RevenueLedgerEntry;
+import com.processserve.order.event.OrderEventPublisher;
 import com.processserve.order.repository.BidRepository;
 import com.processserve.order.repository.OrderRecipientRepository;
 import com.processserve.order.repository.OrderRepository;
+import com.processserve.order.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -30,9 +37,14 @@ public class BidService {
     private final BidRepository bidRepository;
     private final OrderRepository orderRepository;
     private final OrderRecipientRepository recipientRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final RevenueLedgerService revenueLedgerService;
 
-    private final TenantClient tenantClient;
-    private final com.processserve.order.client.NotificationClient notificationClient;
+    private final TenantConfigCache tenantConfigCache;
+    private final BidBook bidBook;
+    private final OutboxService outboxService;
+    private final OrderTotalsService orderTotalsService;
+    private final EntityManager entityManager;
 
     @Transactional
     public Bid placeBid(PlaceBidRequest request) {
@@ -84,13 +96,13 @@ public class BidService {
         if (recipient.getRecipientType() != OrderRecipient.RecipientType.GUIDED &&
                 (recipient.getStatus() == OrderRecipient.RecipientStatus.PENDING ||
                  recipient.getStatus() == OrderRecipient.RecipientStatus.OPEN)) {
-            recipient.setStatus(OrderRecipient.RecipientStatus.BIDDING);
+            orderEventPublisher.recipientTransition(recipient, OrderRecipient.RecipientStatus.BIDDING);
             recipientRepository.save(recipient);
 
             // Also update Order status if needed?
             Order order = recipient.getOrder();
             if (order.getStatus() == Order.OrderStatus.OPEN) {
-                order.setStatus(Order.OrderStatus.BIDDING);
+                orderEventPublisher.transition(order, Order.OrderStatus.BIDDING);
                 orderRepository.save(order);
             }
         }
@@ -103,7 +115,7 @@ public class BidService {
     public void acceptBid(String bidId) {
         log.info("Accepting bid: {}", bidId);
 
-        Bid bid = bidRepository.findById(bidId)
+        Bid bid = bidRepository.findForAcceptanceById(bidId)
                 .orElseThrow(() -> new RuntimeException("Bid not found"));
 
         if (bid.getStatus() != Bid.BidStatus.PENDING) {
@@ -113,21 +125,6 @@ public class BidService {
         OrderRecipient recipient = bid.getRecipient();
         Order order = recipient.getOrder();
 
-        // Accept this bid
-        bid.setStatus(Bid.BidStatus.ACCEPTED);
-        bidRepository.save(bid);
-
-        // Reject all other pending bids for this recipient
-        List<Bid> otherBids = bidRepository.findByOrderRecipientIdAndStatus(
-                recipient.getId(), Bid.BidStatus.PENDING);
-
-        for (Bid otherBid : otherBids) {
-            if (!otherBid.getId().equals(bidId)) {
-                otherBid.setStatus(Bid.BidStatus.REJECTED);
-                bidRepository.save(otherBid);
-            }
-        }
-
         // Calculate payment breakdown
         // For AUTOMATED orders, the customer was already charged for service options upfront:
         // - Process Service: $75
@@ -181,41 +178,59 @@ public class BidService {
 
         // Update recipient with assignment
         recipient.setAssignedProcessServerId(bid.getProcessServerId());
-        recipient.setStatus(OrderRecipient.RecipientStatus.ASSIGNED);
-        recipientRepository.save(recipient);
+        orderEventPublisher.recipientTransition(recipient, OrderRecipient.RecipientStatus.ASSIGNED);
+        awardBid(bid, recipient, bid.getBidAmount());
 
         // Check if all recipients are assigned
-        boolean allAssigned = order.getRecipients().stream()
-                .allMatch(d -> d.getStatus() == OrderRecipient.RecipientStatus.ASSIGNED ||
-                        d.getStatus() == OrderRecipient.RecipientStatus.IN_PROGRESS ||
-                        d.getStatus() == OrderRecipient.RecipientStatus.DELIVERED);
+        boolean allAssigned = recipientRepository.countByOrderIdAndStatusNotIn(order.getId(),
+                List.of(OrderRecipient.RecipientStatus.ASSIGNED, OrderRecipient.RecipientStatus.IN_PROGRESS,
+                        OrderRecipient.RecipientStatus.DELIVERED)) == 0;
 
         if (allAssigned) {
-            order.setStatus(Order.OrderStatus.ASSIGNED);
+            orderEventPublisher.transition(order, Order.OrderStatus.ASSIGNED);
             order.setAssignedAt(LocalDateTime.now());
         } else {
-            order.setStatus(Order.OrderStatus.PARTIALLY_ASSIGNED);
+            orderEventPublisher.transition(order, Order.OrderStatus.PARTIALLY_ASSIGNED);
         }
 
+        orderTotalsService.refresh(order);
         orderRepository.save(order);
+        revenueLedgerService.recordOrderRevenue(order, RevenueLedgerEntry.Source.BID_ACCEPTED);
 
         log.info("Bid accepted. Recipient {} assigned to process server {}.",
                 recipient.getId(), bid.getProcessServerId());
 
-        // Send notification to Process Server
-        try {
-            notificationClient.createNotification(com.processserve.order.dto.NotificationRequest.builder()
-                    .tenantId(order.getTenantId())
-                    .userId(bid.getProcessServerId())
-                    .type("BID_ACCEPTED")
-                    .title("Bid Accepted")
-                    .message("Your bid for order " + order.getOrderNumber() + " has been accepted.")
-                    .relatedOrderId(order.getId())
-                    .build());
-            log.info("Notification sent to process server {}", bid.getProcessServerId());
-        } catch (Exception e) {
-            log.error("Failed to send notification: {}", e.getMessage());
+        // Notify the process server once this transaction commits (via outbox)
+        outboxService.enqueueNotification(com.processserve.order.dto.NotificationRequest.builder()
+                .tenantId(order.getTenantId())
+                .userId(bid.getProcessServerId())
+                .type("BID_ACCEPTED")
+                .title("Bid Accepted")
+                .message("Your bid for order " + order.getOrderNumber() + " has been accepted.")
+                .relatedOrderId(order.getId())
+                .build());
+    }
+
+    /**
+     * Award {@code bid} at {@code amount} and reject the recipient's other
+     * pending bids, with two set-based updates instead of loading every bid.
+     * The recipient's pending changes are flushed first, so its row is locked
+     * and a concurrent award for the same recipient fails its @Version check
+     * before touching any bid. The award itself only succeeds while the bid
+     * is still PENDING, so a bid can never be accepted twice.
+     */
+    private void awardBid(Bid bid, OrderRecipient recipient, BigDecimal amount) {
+        recipientRepository.saveAndFlush(recipient);
+        if (bidRepository.awardIfPending(bid.getId(), amount) == 0) {
+            throw new OptimisticLockingFailureException("Bid " + bid.getId() + " is no longer pending");
         }
+        // Pick up the new status, amount and version on the managed bid
+        entityManager.refresh(bid);
+        int rejected = bidRepository.rejectOtherPendingBids(recipient.getId(), bid.getId());
+        // The bulk updates bypass BidBookListener
+        bidBook.recipientAwarded(recipient.getId());
+        log.info("Bid {} awarded for recipient {}; {} competing bids rejected", bid.getId(), recipient.getId(),
+                rejected);
     }
 
     private BigDecimal add(BigDecimal a, BigDecimal b) {
@@ -224,17 +239,9 @@ public class BidService {
 
     private BigDecimal getTenantCommissionRate(String tenantId) {
         try {
-            Map<String, Object> tenant = tenantClient.getTenantById(tenantId);
-            String pricingConfigStr = (String) tenant.get("pricingConfig");
-
-            if (pricingConfigStr != null && !pricingConfigStr.isEmpty()) {
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, Object> pricingConfig = mapper.readValue(pricingConfigStr, Map.class);
-                Object commissionRate = pricingConfig.get("commissionRate");
-
-                if (commissionRate != null) {
-                    return new BigDecimal(commissionRate.toString());
-                }
+            BigDecimal commissionRate = tenantConfigCache.get(tenantId).getCommissionRate();
+            if (commissionRate != null) {
+                return commissionRate;
             }
 
             log.warn("No commission rate found for tenant {}, using default 15%", tenantId);
@@ -245,27 +252,82 @@ public class BidService {
         }
     }
 
-    public List<Bid> getBidsByOrderId(String orderId) {
-        return bidRepository.findByRecipientOrderId(orderId);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Bids on the order's recipients, newest first, in any of {@code statuses}
+     * (all when empty)
+     */
+    @Transactional(readOnly = true)
+    public List<BidDTO> getBidsByOrderId(String orderId, Collection<Bid.BidStatus> statuses) {
+        return bidRepository.findDTOsByOrderId(orderId, statusFilter(statuses));
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getBidsByOrderId(String, Collection)}
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<BidDTO> getBidsByOrderIdPage(String orderId, Collection<Bid.BidStatus> statuses,
+            String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<BidDTO> rows = after == null
+                ? bidRepository.findDTOPageByOrderId(orderId, statusFilter(statuses), pageable)
+                : bidRepository.findDTOPageByOrderIdAfter(orderId, statusFilter(statuses), after.getCreatedAt(),
+                        after.getId(), pageable);
+        return toPage(rows, pageSize);
     }
 
-    public List<com.processserve.order.dto.BidDTO> getBidsByProcessServerId(String processServerId) {
-        List<Bid> bids = bidRepository.findByProcessServerId(processServerId);
-        return bids.stream().map(this::mapToDTO).collect(java.util.stream.Collectors.toList());
+    /**
+     * The process server's bids, newest first, in any of {@code statuses} (all
+     * when empty)
+     */
+    @Transactional(readOnly = true)
+    public List<BidDTO> getBidsByProcessServerId(String processServerId, Collection<Bid.BidStatus> statuses) {
+        return bidRepository.findDTOsByProcessServerId(processServerId, statusFilter(statuses));
     }
 
-    private com.processserve.order.dto.BidDTO mapToDTO(Bid bid) {
-        OrderRecipient recipient = bid.getRecipient();
-        Order order = recipient != null ? recipient.getOrder() : null;
-
-        return com.processserve.order.dto.BidDTO.builder()
-                .id(bid.getId())
-                .orderId(order != null ? order.getId() : null)
-                .orderNumber(order != null ? order.getOrderNumber() : null)
-                .bidAmount(bid.getBidAmount())
-                .status(bid.getStatus())
-                .createdAt(bid.getCreatedAt())
-                .build();
+    /**
+     * Keyset-paginated variant of {@link #getBidsByProcessServerId(String, Collection)}
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<BidDTO> getBidsByProcessServerIdPage(String processServerId,
+            Collection<Bid.BidStatus> statuses, String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<BidDTO> rows = after == null
+                ? bidRepository.findDTOPageByProcessServerId(processServerId, statusFilter(statuses), pageable)
+                : bidRepository.findDTOPageByProcessServerIdAfter(processServerId, statusFilter(statuses),
+                        after.getCreatedAt(), after.getId(), pageable);
+        return toPage(rows, pageSize);
+    }
+
+    private Collection<Bid.BidStatus> statusFilter(Collection<Bid.BidStatus> statuses) {
+        return statuses == null || statuses.isEmpty() ? List.of(Bid.BidStatus.values()) : statuses;
+    }
+
+    private int normalizePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Rows are fetched with one extra element so we know whether another page exists
+    private KeysetPage<BidDTO> toPage(List<BidDTO> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<BidDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            BidDTO last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new KeysetPage<>(items, nextCursor, hasMore, pageSize);
     }
 
     // Customer counter-offers the process server's bid
@@ -291,9 +353,13 @@ public class BidService {
     // Process server accepts customer's counter-offer
     @Transactional
     public void acceptCustomerCounter(String bidId) {
-        Bid bid = bidRepository.findById(bidId)
+        Bid bid = bidRepository.findForAcceptanceById(bidId)
                 .orElseThrow(() -> new RuntimeException("Bid not found"));
 
+        if (bid.getStatus() != Bid.BidStatus.PENDING) {
+            throw new RuntimeException("Bid is not in pending status");
+        }
+
         if (bid.getCustomerCounterAmount() == null) {
             throw new RuntimeException("No counter-offer to accept");
         }
@@ -302,40 +368,26 @@ public class BidService {
             throw new RuntimeException("No customer counter-offer pending");
         }
 
-        // Update bid amount to counter amount and accept
-        bid.setBidAmount(bid.getCustomerCounterAmount());
-        bid.setStatus(Bid.BidStatus.ACCEPTED);
-
-        // Update recipient
+        // Update recipient, then accept the bid at the counter amount
         OrderRecipient recipient = bid.getRecipient();
-        recipient.setStatus(OrderRecipient.RecipientStatus.IN_PROGRESS);
+        orderEventPublisher.recipientTransition(recipient, OrderRecipient.RecipientStatus.IN_PROGRESS);
         recipient.setAssignedProcessServerId(bid.getProcessServerId());
-
-        recipientRepository.save(recipient);
-        bidRepository.save(bid);
-
-        // Reject other bids for this recipient
-        List<Bid> otherBids = bidRepository.findByOrderRecipientId(recipient.getId());
-        for (Bid otherBid : otherBids) {
-            if (!otherBid.getId().equals(bidId) && otherBid.getStatus() == Bid.BidStatus.PENDING) {
-                otherBid.setStatus(Bid.BidStatus.REJECTED);
-                bidRepository.save(otherBid);
-            }
-        }
+        awardBid(bid, recipient, bid.getCustomerCounterAmount());
 
         // Update order status if all recipients are assigned
         Order order = recipient.getOrder();
-        boolean allAssigned = order.getRecipients().stream()
-                .allMatch(r -> r.getStatus() == OrderRecipient.RecipientStatus.IN_PROGRESS ||
-                              r.getStatus() == OrderRecipient.RecipientStatus.DELIVERED);
+        orderTotalsService.refresh(order);
+        boolean allAssigned = recipientRepository.countByOrderIdAndStatusNotIn(order.getId(),
+                List.of(OrderRecipient.RecipientStatus.IN_PROGRESS, OrderRecipient.RecipientStatus.DELIVERED)) == 0;
         
         if (allAssigned) {
-            order.setStatus(Order.OrderStatus.ASSIGNED);
+            orderEventPublisher.transition(order, Order.OrderStatus.ASSIGNED);
             orderRepository.save(order);
         } else if (order.getStatus() == Order.OrderStatus.OPEN || order.getStatus() == Order.OrderStatus.BIDDING) {
-            order.setStatus(Order.OrderStatus.PARTIALLY_ASSIGNED);
+            orderEventPublisher.transition(order, Order.OrderStatus.PARTIALLY_ASSIGNED);
             orderRepository.save(order);
         }
+        revenueLedgerService.recordOrderRevenue(order, RevenueLedgerEntry.Source.BID_ACCEPTED);
     }
 
     // Process server rejects customer's counter and proposes new amount
@@ -4,6 +4,7 @@ import com.processserve.order.dto.AddParticipantRequest;
 import com.processserve.order.dto.ChatParticipantResponse;
 import com.processserve.order.entity.ChatParticipant;
 import com.processserve.order.repository.ChatParticipantRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ import java.util.stream.Collectors;
 public class ChatParticipantService {
 
     private final ChatParticipantRepository participantRepository;
+    private final EntityManager entityManager;
 
     // Add participant to chat
     @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
@@ -60,6 +62,28 @@ public class ChatParticipantService {
         return convertToResponse(saved);
     }
 
+    // Seed the chat of a newly created order (customer + default admin) in the
+    // caller's transaction. The order row must already be flushed (FK on order_id).
+    // persist() skips the merge SELECT and lets Hibernate batch the inserts.
+    @Transactional
+    public void initializeParticipants(String orderId, String customerId, String addedByUserId) {
+        entityManager.persist(newParticipant(orderId, customerId, ChatParticipant.UserRole.CUSTOMER, addedByUserId));
+        entityManager.persist(newParticipant(orderId, "admin-1", ChatParticipant.UserRole.ADMIN, addedByUserId));
+    }
+
+    private ChatParticipant newParticipant(String orderId, String userId, ChatParticipant.UserRole role,
+            String addedByUserId) {
+        ChatParticipant participant = new ChatParticipant();
+        participant.setId(UUID.randomUUID().toString());
+        participant.setOrderId(orderId);
+        participant.setUserId(userId);
+        participant.setUserRole(role);
+        participant.setIsActive(true);
+        participant.setAddedByUserId(addedByUserId);
+        participant.setAddedAt(LocalDateTime.now());
+        return participant;
+    }
+
     // Remove participant from chat
     @Transactional
     public void removeParticipant(String participantId) {
@@ -0,0 +1,113 @@
+package com.processserve.order.service;
+
+import com.processserve.order.client.UserClient;
+import com.processserve.order.dto.OrderSummary;
+import com.processserve.order.entity.Order;
+import com.processserve.order.util.TtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves customer display names for orders. Names are cached with a TTL and
+ * all misses for a list of orders are fetched from user-service in one batched
+ * call instead of one or two calls per order.
+ */
+@Service
+@Slf4j
+public class CustomerNameService {
+
+    static final String UNKNOWN_CUSTOMER = "Unknown Customer";
+
+    private final UserClient userClient;
+    private final TtlCache<String, String> cache;
+    private final int batchSize;
+
+    public CustomerNameService(UserClient userClient,
+            @Value("${orders.customer-names.ttl-ms:600000}") long ttlMillis,
+            @Value("${orders.customer-names.max-entries:5000}") int maxEntries,
+            @Value("${orders.customer-names.batch-size:200}") int batchSize) {
+        this.userClient = userClient;
+        this.cache = new TtlCache<>(ttlMillis, maxEntries);
+        this.batchSize = batchSize;
+    }
+
+    public void populate(Order order) {
+        populate(List.of(order));
+    }
+
+    public void populate(Collection<Order> orders) {
+        Set<String> customerIds = new LinkedHashSet<>();
+        for (Order order : orders) {
+            if (order.getCustomerId() != null) {
+                customerIds.add(order.getCustomerId());
+            }
+        }
+
+        Map<String, String> names = resolve(customerIds);
+        for (Order order : orders) {
+            order.setCustomerName(names.getOrDefault(order.getCustomerId(), UNKNOWN_CUSTOMER));
+        }
+    }
+
+    public void populateSummaries(Collection<OrderSummary> orders) {
+        Set<String> customerIds = new LinkedHashSet<>();
+        for (OrderSummary order : orders) {
+            if (order.getCustomerId() != null) {
+                customerIds.add(order.getCustomerId());
+            }
+        }
+
+        Map<String, String> names = resolve(customerIds);
+        for (OrderSummary order : orders) {
+            order.setCustomerName(names.getOrDefault(order.getCustomerId(), UNKNOWN_CUSTOMER));
+        }
+    }
+
+    private Map<String, String> resolve(Set<String> customerIds) {
+        Map<String, String> names = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String customerId : customerIds) {
+            String cached = cache.get(customerId);
+            if (cached != null) {
+                names.put(customerId, cached);
+            } else {
+                misses.add(customerId);
+            }
+        }
+
+        for (int from = 0; from < misses.size(); from += batchSize) {
+            List<String> chunk = misses.subList(from, Math.min(from + batchSize, misses.size()));
+            try {
+                Map<String, Map<String, Object>> customers = userClient.getCustomersByTenantUserRoleIds(chunk);
+                for (String customerId : chunk) {
+                    Map<String, Object> customer = customers != null ? customers.get(customerId) : null;
+                    String name = customer != null ? formatName(customer) : UNKNOWN_CUSTOMER;
+                    cache.put(customerId, name);
+                    names.put(customerId, name);
+                }
+            } catch (Exception e) {
+                // Leave the misses uncached so they are retried on the next request
+                log.warn("Failed to fetch {} customer names from user-service: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return names;
+    }
+
+    private String formatName(Map<String, Object> customer) {
+        Object firstName = customer.get("firstName");
+        Object lastName = customer.get("lastName");
+        if (firstName == null && lastName == null) {
+            return UNKNOWN_CUSTOMER;
+        }
+        return ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+    }
+}
@@ -0,0 +1,89 @@
+package com.processserve.order.service;
+
+import com.processserve.order.util.TtlCache;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * TTL-evicting store behind the Idempotency-Key filter. A key is first
+ * reserved (in flight) with the request fingerprint, then completed with the
+ * response to replay, or released if the request failed and may be retried.
+ */
+@Service
+public class IdempotencyStore {
+
+    public enum Outcome {
+        // Caller owns the key and must complete or release it
+        ACQUIRED,
+        // Same key, same request, still being processed
+        IN_PROGRESS,
+        // Same key used for a different request
+        MISMATCH,
+        // Same key, same request, response available for replay
+        COMPLETED
+    }
+
+    @Getter
+    public static final class StoredResponse {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        public StoredResponse(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    @Getter
+    public static final class Result {
+        private final Outcome outcome;
+        private final StoredResponse response;
+
+        private Result(Outcome outcome, StoredResponse response) {
+            this.outcome = outcome;
+            this.response = response;
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final StoredResponse response;
+
+        private Entry(String fingerprint, StoredResponse response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+    }
+
+    private final TtlCache<String, Entry> entries;
+
+    public IdempotencyStore(@Value("${orders.idempotency.ttl-ms:86400000}") long ttlMillis,
+            @Value("${orders.idempotency.max-entries:50000}") int maxEntries) {
+        this.entries = new TtlCache<>(ttlMillis, maxEntries);
+    }
+
+    public synchronized Result begin(String key, String fingerprint) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entries.put(key, new Entry(fingerprint, null));
+            return new Result(Outcome.ACQUIRED, null);
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            return new Result(Outcome.MISMATCH, null);
+        }
+        return entry.response == null
+                ? new Result(Outcome.IN_PROGRESS, null)
+                : new Result(Outcome.COMPLETED, entry.response);
+    }
+
+    public synchronized void complete(String key, String fingerprint, StoredResponse response) {
+        entries.put(key, new Entry(fingerprint, response));
+    }
+
+    public synchronized void release(String key) {
+        entries.invalidate(key);
+    }
+}
@@ -0,0 +1,68 @@
+package com.processserve.order.service;
+
+import com.processserve.order.repository.JobLeaseRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cluster-wide leases for work that must run on one instance at a time
+ * (startup backfills, batch jobs, schedulers). A lease is a row in job_leases
+ * taken with a conditional UPDATE, so no connection or lock is held while the
+ * work runs. Owners renew by acquiring again before the lease runs out; a
+ * crashed owner's lease simply expires.
+ */
+@Service
+@Slf4j
+public class JobLeaseService {
+
+    private final JobLeaseRepository leaseRepository;
+    private final TransactionTemplate leaseTransaction;
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public JobLeaseService(JobLeaseRepository leaseRepository, PlatformTransactionManager transactionManager) {
+        this.leaseRepository = leaseRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        // Commit the lease on its own, whatever the caller's transaction does
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Take the lease for {@code duration}, or extend it if this instance holds it
+     *
+     * @return false if another instance holds it (or the database is unreachable)
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        try {
+            Boolean acquired = leaseTransaction.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (leaseRepository.acquire(name, instanceId, now, now.plus(duration)) == 1) {
+                    return true;
+                }
+                leaseRepository.insertIfAbsent(name);
+                return leaseRepository.acquire(name, instanceId, now, now.plus(duration)) == 1;
+            });
+            return Boolean.TRUE.equals(acquired);
+        } catch (Exception e) {
+            log.warn("Could not acquire lease {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        try {
+            leaseTransaction.executeWithoutResult(status -> leaseRepository.release(name, instanceId));
+        } catch (Exception e) {
+            // It expires on its own
+            log.warn("Could not release lease {}: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.processserve.order.service;
+
+import com.processserve.order.client.UserClient;
+import com.processserve.order.dto.OpenJobFeed;
+import com.processserve.order.util.TtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Process-server job feed: open jobs restricted to the server's operating zip
+ * codes, served from the OpenJobIndex. Operating zips live in user-service and
+ * are cached here with a TTL.
+ */
+@Service
+@Slf4j
+public class OpenJobFeedService {
+
+    private final OpenJobIndex openJobIndex;
+    private final UserClient userClient;
+    private final TtlCache<String, List<String>> zipCodes;
+
+    public OpenJobFeedService(OpenJobIndex openJobIndex, UserClient userClient,
+            @Value("${orders.open-jobs.zip-cache-ttl-ms:300000}") long ttlMillis,
+            @Value("${orders.open-jobs.zip-cache-max-entries:5000}") int maxEntries) {
+        this.openJobIndex = openJobIndex;
+        this.userClient = userClient;
+        this.zipCodes = new TtlCache<>(ttlMillis, maxEntries);
+    }
+
+    /**
+     * Feed for {@code processServerId}; explicit {@code zipOverride} codes (e.g. a
+     * single territory selected in the UI) take precedence over the profile.
+     */
+    public OpenJobFeed getFeed(String processServerId, Collection<String> zipOverride, String since) {
+        Collection<String> zips = zipOverride != null && !zipOverride.isEmpty()
+                ? zipOverride
+                : getOperatingZipCodes(processServerId);
+        return openJobIndex.feed(zips, since);
+    }
+
+    private List<String> getOperatingZipCodes(String processServerId) {
+        List<String> cached = zipCodes.get(processServerId);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> zips = userClient.getOperatingZipCodes(processServerId);
+        List<String> result = zips != null ? List.copyOf(zips) : List.of();
+        zipCodes.put(processServerId, result);
+        return result;
+    }
+}
@@ -0,0 +1,364 @@
+package com.processserve.order.service;
+
+import com.processserve.order.dto.OpenJob;
+import com.processserve.order.dto.OpenJobFeed;
+import com.processserve.order.entity.Order;
+import com.processserve.order.entity.OrderRecipient;
+import com.processserve.order.event.OrderStatusChangedEvent;
+import com.processserve.order.repository.OrderRecipientRepository;
+import com.processserve.order.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory zip code -> open recipient index behind the process-server job
+ * feed. Kept current from recipient writes (see OpenJobIndexListener) and
+ * order status changes, applied after commit, and reconciled against the
+ * database on startup and periodically to pick up anything written around it.
+ *
+ * Every change gets a sequence number; removals are remembered for a bounded
+ * window so clients can poll with {@code since} and receive only the delta.
+ * Cursors are "epoch:sequence", where the epoch is random per index instance,
+ * so a cursor issued by another replica or before a restart is detected and
+ * answered with a full sync.
+ */
+@Service
+@Slf4j
+public class OpenJobIndex {
+
+    static final List<OrderRecipient.RecipientStatus> OPEN_RECIPIENT_STATUSES = List.of(
+            OrderRecipient.RecipientStatus.OPEN, OrderRecipient.RecipientStatus.BIDDING);
+    static final List<Order.OrderStatus> OPEN_ORDER_STATUSES = List.of(Order.OrderStatus.OPEN,
+            Order.OrderStatus.BIDDING, Order.OrderStatus.PARTIALLY_ASSIGNED);
+
+    private static final String CURSOR_SEPARATOR = ":";
+
+    private final OrderRecipientRepository recipientRepository;
+    private final TransactionTemplate readTransaction;
+    private final int maxRemovals;
+    private final String epoch = UUID.randomUUID().toString();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<String, OpenJob>> jobsByZip = new HashMap<>();
+    private final Map<String, OpenJob> jobsByRecipient = new HashMap<>();
+    private final Map<String, Set<String>> recipientsByOrder = new HashMap<>();
+    // sequence -> removed job, oldest first
+    private final TreeMap<Long, OpenJob> removals = new TreeMap<>();
+    private long sequence;
+    // Oldest cursor an incremental poll can resume from
+    private long floor;
+
+    public OpenJobIndex(OrderRecipientRepository recipientRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${orders.open-jobs.max-removals:10000}") int maxRemovals) {
+        this.recipientRepository = recipientRepository;
+        this.readTransaction = AfterCommit.readTransaction(transactionManager);
+        this.maxRemovals = maxRemovals;
+    }
+
+    /**
+     * Jobs in any of {@code zipCodes}: everything when {@code cursor} is null,
+     * from another epoch or no longer resumable, otherwise only what changed
+     * after it.
+     */
+    public OpenJobFeed feed(Collection<String> zipCodes, String cursor) {
+        Set<String> zips = new HashSet<>();
+        for (String zipCode : zipCodes) {
+            String zip = normalizeZip(zipCode);
+            if (zip != null) {
+                zips.add(zip);
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            Long since = sequenceOf(cursor);
+            boolean fullSync = since == null || since < floor || since > sequence;
+            List<OpenJob> jobs = new ArrayList<>();
+            for (String zip : zips) {
+                for (OpenJob job : jobsByZip.getOrDefault(zip, Map.of()).values()) {
+                    if (fullSync || job.getSequence() > since) {
+                        jobs.add(job);
+                    }
+                }
+            }
+            jobs.sort(Comparator.comparingLong(OpenJob::getSequence));
+
+            List<String> removed = new ArrayList<>();
+            if (!fullSync) {
+                for (OpenJob job : removals.tailMap(since, false).values()) {
+                    if (zips.contains(normalizeZip(job.getRecipientZipCode()))) {
+                        removed.add(job.getRecipientId());
+                    }
+                }
+            }
+            return new OpenJobFeed(jobs, removed, epoch + CURSOR_SEPARATOR + sequence, fullSync);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Record a recipient write; applied once the surrounding transaction commits
+     */
+    public void recipientChanged(OrderRecipient recipient) {
+        String recipientId = recipient.getId();
+        Order order = recipient.getOrder();
+        if (order != null && !Hibernate.isInitialized(order)
+                && OPEN_RECIPIENT_STATUSES.contains(recipient.getStatus())) {
+            // Order number, tenant, deadline and status are not loaded, and must not
+            // be lazily loaded inside a flush: read the job with its order after commit
+            AfterCommit.run(() -> refresh(recipientId));
+            return;
+        }
+        OpenJob job = isOpen(recipient) ? toJob(recipient) : null;
+        AfterCommit.run(() -> {
+            if (job != null) {
+                upsert(job);
+            } else {
+                remove(recipientId);
+            }
+        });
+    }
+
+    public void recipientRemoved(OrderRecipient recipient) {
+        String recipientId = recipient.getId();
+        AfterCommit.run(() -> remove(recipientId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (OPEN_ORDER_STATUSES.contains(event.getNewStatus())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Set<String> recipientIds = recipientsByOrder.get(event.getOrderId());
+            if (recipientIds != null) {
+                new ArrayList<>(recipientIds).forEach(this::removeLocked);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bring the index in line with the database, as a delta so incremental
+     * cursors stay valid. The snapshot is loaded without the lock, so it is
+     * fenced by the sequence taken before loading: recipients changed or
+     * removed in the index after the fence are newer than (or as new as) the
+     * snapshot and are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${orders.open-jobs.reconcile-interval-ms:300000}",
+            initialDelayString = "${orders.open-jobs.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long fence;
+        lock.readLock().lock();
+        try {
+            fence = sequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, OpenJob> fresh = new LinkedHashMap<>();
+        try {
+            for (OpenJob job : recipientRepository.findOpenJobs(OPEN_RECIPIENT_STATUSES, OPEN_ORDER_STATUSES)) {
+                fresh.put(job.getRecipientId(), job);
+            }
+        } catch (Exception e) {
+            log.error("Failed to load open jobs: {}", e.getMessage());
+            return;
+        }
+
+        int changed = 0;
+        lock.writeLock().lock();
+        try {
+            if (floor > fence) {
+                // Removals made since the fence are no longer all remembered
+                log.warn("Open job index changed too much while loading; reconcile skipped");
+                return;
+            }
+            Set<String> removedSinceFence = new HashSet<>();
+            for (OpenJob job : removals.tailMap(fence, false).values()) {
+                removedSinceFence.add(job.getRecipientId());
+            }
+            for (OpenJob job : new ArrayList<>(jobsByRecipient.values())) {
+                if (job.getSequence() <= fence && !fresh.containsKey(job.getRecipientId())) {
+                    removeLocked(job.getRecipientId());
+                    changed++;
+                }
+            }
+            for (OpenJob job : fresh.values()) {
+                OpenJob current = jobsByRecipient.get(job.getRecipientId());
+                if ((current != null && current.getSequence() > fence)
+                        || removedSinceFence.contains(job.getRecipientId())) {
+                    continue;
+                }
+                if (!job.equals(current)) {
+                    upsertLocked(job);
+                    changed++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (changed > 0) {
+            log.info("Open job index reconciled: {} changes, {} open jobs", changed, fresh.size());
+        }
+    }
+
+    // Re-read one recipient, with its order, from the database
+    private void refresh(String recipientId) {
+        try {
+            OpenJob job = readTransaction.execute(status -> recipientRepository
+                    .findOpenJob(recipientId, OPEN_RECIPIENT_STATUSES, OPEN_ORDER_STATUSES)
+                    .orElse(null));
+            if (job != null) {
+                upsert(job);
+            } else {
+                remove(recipientId);
+            }
+        } catch (Exception e) {
+            // The next reconcile picks it up
+            log.warn("Failed to load open job for recipient {}: {}", recipientId, e.getMessage());
+        }
+    }
+
+    private void upsert(OpenJob job) {
+        lock.writeLock().lock();
+        try {
+            upsertLocked(job);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String recipientId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipientId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsertLocked(OpenJob job) {
+        OpenJob previous = jobsByRecipient.get(job.getRecipientId());
+        if (previous != null && !sameZip(previous, job)) {
+            // Moved to another zip: clients of the old zip must drop it
+            removeLocked(job.getRecipientId());
+        }
+        job.setSequence(++sequence);
+        jobsByRecipient.put(job.getRecipientId(), job);
+        recipientsByOrder.computeIfAbsent(job.getOrderId(), k -> new HashSet<>()).add(job.getRecipientId());
+        String zip = normalizeZip(job.getRecipientZipCode());
+        if (zip != null) {
+            jobsByZip.computeIfAbsent(zip, k -> new HashMap<>()).put(job.getRecipientId(), job);
+        }
+    }
+
+    private void removeLocked(String recipientId) {
+        OpenJob job = jobsByRecipient.remove(recipientId);
+        if (job == null) {
+            return;
+        }
+        Set<String> siblings = recipientsByOrder.get(job.getOrderId());
+        if (siblings != null) {
+            siblings.remove(recipientId);
+            if (siblings.isEmpty()) {
+                recipientsByOrder.remove(job.getOrderId());
+            }
+        }
+        String zip = normalizeZip(job.getRecipientZipCode());
+        Map<String, OpenJob> zipJobs = zip != null ? jobsByZip.get(zip) : null;
+        if (zipJobs != null) {
+            zipJobs.remove(recipientId);
+            if (zipJobs.isEmpty()) {
+                jobsByZip.remove(zip);
+            }
+        }
+
+        removals.put(++sequence, job);
+        while (removals.size() > maxRemovals) {
+            // Cursors older than the oldest remembered removal need a full sync
+            floor = removals.pollFirstEntry().getKey();
+        }
+    }
+
+    private boolean sameZip(OpenJob a, OpenJob b) {
+        return Objects.equals(normalizeZip(a.getRecipientZipCode()), normalizeZip(b.getRecipientZipCode()));
+    }
+
+    private boolean isOpen(OrderRecipient recipient) {
+        if (!OPEN_RECIPIENT_STATUSES.contains(recipient.getStatus())) {
+            return false;
+        }
+        // Callers pass recipients whose order is loaded (see recipientChanged)
+        Order order = recipient.getOrder();
+        return order == null || OPEN_ORDER_STATUSES.contains(order.getStatus());
+    }
+
+    private OpenJob toJob(OrderRecipient recipient) {
+        Order order = recipient.getOrder();
+        return new OpenJob(recipient.getId(),
+                order != null ? order.getId() : null,
+                order != null ? order.getOrderNumber() : null,
+                order != null ? order.getTenantId() : null,
+                recipient.getRecipientZipCode(),
+                recipient.getCity(),
+                recipient.getState(),
+                recipient.getStatus(),
+                recipient.getRecipientType(),
+                recipient.getRushService(),
+                order != null ? order.getDeadline() : null);
+    }
+
+    // Sequence of a cursor issued by this index, or null if it must full sync
+    private Long sequenceOf(String cursor) {
+        if (cursor == null || !cursor.startsWith(epoch + CURSOR_SEPARATOR)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(cursor.substring(epoch.length() + CURSOR_SEPARATOR.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ZIP+4 and surrounding whitespace are folded to the 5-digit zip
+    static String normalizeZip(String zipCode) {
+        if (zipCode == null) {
+            return null;
+        }
+        String zip = zipCode.trim();
+        int dash = zip.indexOf('-');
+        if (dash > 0) {
+            zip = zip.substring(0, dash);
+        }
+        return zip.isEmpty() ? null : zip;
+    }
+}
@@ -0,0 +1,73 @@
+package com.processserve.order.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retry policy for optimistic lock conflicts on Order / OrderRecipient / Bid.
+ * Wraps a whole @Transactional service call: each attempt runs in a fresh
+ * transaction that re-reads the rows and re-applies the transition, so the
+ * service's own status checks decide whether the retried change still applies.
+ *
+ * Conflicts are counted in orders.optimistic_lock.conflicts, tagged with the
+ * endpoint and whether the call was retried or gave up.
+ */
+@Service
+@Slf4j
+public class OptimisticLockRetry {
+
+    static final String CONFLICT_METRIC = "orders.optimistic_lock.conflicts";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticLockRetry(MeterRegistry meterRegistry,
+            @Value("${orders.optimistic-lock.max-attempts:3}") int maxAttempts,
+            @Value("${orders.optimistic-lock.backoff-ms:25}") long backoffMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T execute(String endpoint, Supplier<T> action) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter(CONFLICT_METRIC, "endpoint", endpoint, "outcome", "exhausted").increment();
+                    log.warn("{}: optimistic lock conflict after {} attempts", endpoint, attempt);
+                    throw e;
+                }
+                meterRegistry.counter(CONFLICT_METRIC, "endpoint", endpoint, "outcome", "retried").increment();
+                log.debug("{}: optimistic lock conflict, retrying (attempt {})", endpoint, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(String endpoint, Runnable action) {
+        execute(endpoint, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Linear backoff with jitter so colliding requests do not retry in lockstep
+    private void backoff(int attempt) {
+        long delay = backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying after an optimistic lock conflict", e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.processserve.order.service;
+
+import com.processserve.order.dto.OrderStatusCount;
+import com.processserve.order.entity.Order;
+import com.processserve.order.event.OrderStatusChangedEvent;
+import com.processserve.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Order status counts for the dashboards.
+ *
+ * Counts come from a single GROUP BY status query. When counters are enabled,
+ * the result is kept in memory per tenant/customer and adjusted on every
+ * committed status transition, so repeated polls cost O(1). A scheduled
+ * reconciliation reloads cached entries from the database to correct any
+ * drift (e.g. transitions committed by another order-service instance).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderCountService {
+
+    private static final String TENANT_PREFIX = "TENANT:";
+    private static final String CUSTOMER_PREFIX = "CUSTOMER:";
+    private static final int STATUS_COUNT = Order.OrderStatus.values().length;
+
+    private final OrderRepository orderRepository;
+
+    // Key: TENANT:<id> or CUSTOMER:<id>; slots indexed by OrderStatus.ordinal()
+    private final Map<String, AtomicLongArray> counters = new ConcurrentHashMap<>();
+
+    @Value("${orders.counters.enabled:true}")
+    private boolean countersEnabled;
+
+    @Value("${orders.counters.max-entries:10000}")
+    private int maxEntries;
+
+    public Map<String, Long> getCustomerCounts(String customerId) {
+        return toResponse(lookup(CUSTOMER_PREFIX + customerId,
+                () -> orderRepository.countByStatusForCustomer(customerId)));
+    }
+
+    public Map<String, Long> getTenantCounts(String tenantId) {
+        return toResponse(lookup(TENANT_PREFIX + tenantId,
+                () -> orderRepository.countByStatusForTenant(tenantId)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!countersEnabled) {
+            return;
+        }
+        apply(TENANT_PREFIX + event.getTenantId(), event);
+        apply(CUSTOMER_PREFIX + event.getCustomerId(), event);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${orders.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!countersEnabled || counters.isEmpty()) {
+            return;
+        }
+        int reconciled = 0;
+        for (String key : counters.keySet()) {
+            try {
+                counters.put(key, load(loaderFor(key)));
+                reconciled++;
+            } catch (Exception e) {
+                log.warn("Failed to reconcile order counters for {}: {}", key, e.getMessage());
+            }
+        }
+        log.debug("Reconciled {} order counter entries", reconciled);
+    }
+
+    private AtomicLongArray lookup(String key, Supplier<List<OrderStatusCount>> loader) {
+        if (!countersEnabled) {
+            return load(loader);
+        }
+        AtomicLongArray cached = counters.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (counters.size() >= maxEntries) {
+            // Simple bound: drop everything and let hot keys reload on their next read
+            counters.clear();
+        }
+        AtomicLongArray loaded = load(loader);
+        AtomicLongArray existing = counters.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void apply(String key, OrderStatusChangedEvent event) {
+        AtomicLongArray slots = counters.get(key);
+        if (slots == null) {
+            return; // Not cached yet - will be loaded from the database on the next read
+        }
+        if (event.getPreviousStatus() != null) {
+            slots.decrementAndGet(event.getPreviousStatus().ordinal());
+        }
+        if (event.getNewStatus() != null) {
+            slots.incrementAndGet(event.getNewStatus().ordinal());
+        }
+    }
+
+    private Supplier<List<OrderStatusCount>> loaderFor(String key) {
+        if (key.startsWith(TENANT_PREFIX)) {
+            String tenantId = key.substring(TENANT_PREFIX.length());
+            return () -> orderRepository.countByStatusForTenant(tenantId);
+        }
+        String customerId = key.substring(CUSTOMER_PREFIX.length());
+        return () -> orderRepository.countByStatusForCustomer(customerId);
+    }
+
+    private AtomicLongArray load(Supplier<List<OrderStatusCount>> loader) {
+        AtomicLongArray slots = new AtomicLongArray(STATUS_COUNT);
+        for (OrderStatusCount row : loader.get()) {
+            if (row.getStatus() != null && row.getCount() != null) {
+                slots.set(row.getStatus().ordinal(), row.getCount());
+            }
+        }
+        return slots;
+    }
+
+    private Map<String, Long> toResponse(AtomicLongArray slots) {
+        Map<String, Long> counts = new HashMap<>();
+        long total = 0;
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            long count = Math.max(0, slots.get(status.ordinal()));
+            total += count;
+            if (status == Order.OrderStatus.PARTIALLY_ASSIGNED) {
+                // Dashboards show partially assigned orders under ASSIGNED
+                counts.merge("ASSIGNED", count, Long::sum);
+            } else {
+                counts.merge(status.name(), count, Long::sum);
+            }
+        }
+        counts.put("TOTAL", total);
+        return counts;
+    }
+}
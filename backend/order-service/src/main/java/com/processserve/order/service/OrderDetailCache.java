@@ -0,0 +1,135 @@
+package com.processserve.order.service;
+
+import com.processserve.order.entity.Order;
+import com.processserve.order.entity.OrderRecipient;
+import com.processserve.order.util.AfterCommit;
+import com.processserve.order.util.TtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of fully loaded order details (recipients, attempts,
+ * documents and customer name) for the polled order page. Entries are
+ * dropped after any committed write to the order or its children (see
+ * OrderDetailCacheListener), with the TTL as a backstop for changes made
+ * outside JPA, such as a customer renaming themselves.
+ *
+ * A load that overlaps an invalidation of the same order is not cached, so
+ * a reader that saw pre-commit state cannot put it back after the commit.
+ *
+ * Metrics: cache.gets{result=hit|miss}, cache.evictions and cache.size,
+ * tagged cache=orderDetail.
+ */
+@Service
+@Slf4j
+public class OrderDetailCache {
+
+    private static final String CACHE_NAME = "orderDetail";
+    private static final int GENERATION_STRIPES = 64;
+
+    private final TtlCache<String, Order> cache;
+    // Invalidation count per order-id stripe, guarded by this
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    public OrderDetailCache(MeterRegistry meterRegistry,
+            @Value("${orders.detail-cache.ttl-ms:60000}") long ttlMillis,
+            @Value("${orders.detail-cache.max-entries:10000}") int maxEntries) {
+        this.cache = new TtlCache<>(ttlMillis, maxEntries);
+
+        FunctionCounter.builder("cache.gets", cache, TtlCache::hitCount)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, TtlCache::missCount)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", cache, TtlCache::evictionCount)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", cache, TtlCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached order, or the result of {@code loader} (cached unless the order
+     * was written meanwhile). The loader must return an order whose lazy
+     * associations are initialized, as it is later serialized without a
+     * session. Callers must treat the result as read-only.
+     */
+    public Order get(String orderId, Supplier<Order> loader) {
+        Order cached = cache.get(orderId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation;
+        synchronized (this) {
+            generation = generations[stripe(orderId)];
+        }
+        Order order = loader.get();
+        synchronized (this) {
+            if (generations[stripe(orderId)] == generation) {
+                cache.put(orderId, order);
+            }
+        }
+        return order;
+    }
+
+    public void invalidate(String orderId) {
+        synchronized (this) {
+            generations[stripe(orderId)]++;
+            cache.invalidate(orderId);
+        }
+    }
+
+    /**
+     * Drop the order once the surrounding transaction commits (immediately
+     * when there is none)
+     */
+    public void invalidateAfterCommit(String orderId) {
+        if (orderId == null) {
+            return;
+        }
+        AfterCommit.run(() -> invalidate(orderId));
+    }
+
+    /**
+     * Drop every order once the surrounding transaction commits (immediately
+     * when there is none)
+     */
+    public void clearAfterCommit() {
+        AfterCommit.run(this::clear);
+    }
+
+    /**
+     * Initialize everything the order detail response serializes
+     */
+    static Order initializeDetail(Order order) {
+        Hibernate.initialize(order.getDocuments());
+        for (OrderRecipient recipient : order.getRecipients()) {
+            Hibernate.initialize(recipient.getAttempts());
+        }
+        return order;
+    }
+
+    public void clear() {
+        synchronized (this) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations[i]++;
+            }
+            cache.clear();
+        }
+        log.debug("Order detail cache cleared");
+    }
+
+
+    private int stripe(String orderId) {
+        return Math.floorMod(orderId.hashCode(), GENERATION_STRIPES);
+    }
+}
@@ -0,0 +1,294 @@
+package com.processserve.order.service;
+
+import com.processserve.order.dto.OrderStreamEvent;
+import com.processserve.order.event.OrderStatusChangedEvent;
+import com.processserve.order.event.RecipientStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process bus behind the order event stream (SSE). Order and recipient
+ * status changes committed through this instance get a sequence id, are kept
+ * in a bounded replay buffer and queued to every subscriber watching that
+ * order, customer or tenant.
+ *
+ * Event ids are "epoch:sequence", with an epoch that is random per instance.
+ * A reconnecting browser sends Last-Event-ID and receives what it missed from
+ * the buffer. If that id is no longer buffered (too old) or was issued by
+ * another replica or before a restart, a "resync" event is sent instead and
+ * the client should refetch what it shows. Changes committed on other
+ * replicas are not streamed here; a browser only learns of them through such
+ * a refetch, so deployments with several replicas should pin streams to one
+ * instance or treat the stream as a hint.
+ *
+ * Each subscriber has its own bounded queue, drained by a small sender pool
+ * one subscriber at a time, so events reach a subscriber in order and a slow
+ * client only holds up itself. A subscriber whose queue overflows is closed;
+ * its browser reconnects and resumes from the replay buffer.
+ */
+@Service
+@Slf4j
+public class OrderEventStream {
+
+    public enum Scope {
+        ORDER, CUSTOMER, TENANT
+    }
+
+    static final String RESYNC_EVENT = "resync";
+    private static final long RECONNECT_MILLIS = 3000;
+    private static final String ID_SEPARATOR = ":";
+
+    private final long emitterTimeoutMillis;
+    private final int replayBufferSize;
+    private final int maxSubscribers;
+    private final int subscriberQueueSize;
+    private final ExecutorService senders;
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Guarded by this; events are queued to subscribers under the same lock so
+    // every queue is in buffer order
+    private final Deque<OrderStreamEvent> buffer = new ArrayDeque<>();
+    private long sequence;
+
+    public OrderEventStream(@Value("${orders.events.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+            @Value("${orders.events.replay-buffer-size:2000}") int replayBufferSize,
+            @Value("${orders.events.max-subscribers:5000}") int maxSubscribers,
+            @Value("${orders.events.subscriber-queue-size:256}") int subscriberQueueSize,
+            @Value("${orders.events.sender-threads:8}") int senderThreads) {
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.replayBufferSize = replayBufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberQueueSize = Math.max(1, subscriberQueueSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "order-event-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a stream of changes to one order, or to all orders of a customer or
+     * tenant, resuming after {@code lastEventId} when given
+     */
+    public SseEmitter subscribe(Scope scope, String id, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many open event streams");
+        }
+        boolean resume = lastEventId != null && !lastEventId.isBlank();
+        Long since = parseEventId(lastEventId);
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(scope, id, emitter);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        synchronized (this) {
+            enqueue(subscriber, SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected"));
+            if (resume) {
+                long oldest = buffer.isEmpty() ? sequence + 1 : buffer.peekFirst().getId();
+                List<OrderStreamEvent> missed = new ArrayList<>();
+                boolean resync = since == null || since < oldest - 1 || since > sequence;
+                if (!resync) {
+                    for (OrderStreamEvent event : buffer) {
+                        if (event.getId() > since && subscriber.matches(event)) {
+                            missed.add(event);
+                        }
+                    }
+                    // A replay that would overflow the queue is replaced by a refetch
+                    resync = missed.size() >= subscriberQueueSize - 1;
+                }
+                if (resync) {
+                    enqueue(subscriber, SseEmitter.event().id(eventId(sequence)).name(RESYNC_EVENT).data(""));
+                } else {
+                    missed.forEach(event -> enqueue(subscriber, toSse(event)));
+                }
+            }
+            // Live events are queued after the replay from here on
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        publish(new OrderStreamEvent(0, OrderStreamEvent.Type.ORDER_STATUS, event.getOrderId(), null,
+                event.getTenantId(), event.getCustomerId(),
+                event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null,
+                event.getNewStatus().name(), LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipientStatusChanged(RecipientStatusChangedEvent event) {
+        publish(new OrderStreamEvent(0, OrderStreamEvent.Type.RECIPIENT_STATUS, event.getOrderId(),
+                event.getRecipientId(), event.getTenantId(), event.getCustomerId(),
+                event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null,
+                event.getNewStatus().name(), LocalDateTime.now()));
+    }
+
+    /**
+     * Comment line to every subscriber so proxies keep idle streams open and
+     * dead connections are noticed
+     */
+    @Scheduled(fixedDelayString = "${orders.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private synchronized void publish(OrderStreamEvent event) {
+        event.setId(++sequence);
+        buffer.addLast(event);
+        while (buffer.size() > replayBufferSize) {
+            buffer.pollFirst();
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                enqueue(subscriber, toSse(event));
+            }
+        }
+    }
+
+    // Never blocks: the send happens on a sender thread
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (subscriber.queue.size() >= subscriberQueueSize) {
+                // Too slow to keep up: close it, it resumes from the replay buffer
+                log.debug("Closing slow event stream subscriber {} {}", subscriber.scope, subscriber.id);
+                subscribers.remove(subscriber);
+                subscriber.closed = true;
+                subscriber.queue.clear();
+            } else {
+                subscriber.queue.addLast(event);
+            }
+            if (subscriber.draining) {
+                return;
+            }
+            subscriber.draining = true;
+        }
+        senders.execute(() -> drain(subscriber));
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder next;
+            synchronized (subscriber) {
+                if (subscriber.closed) {
+                    break;
+                }
+                next = subscriber.queue.pollFirst();
+                if (next == null) {
+                    subscriber.draining = false;
+                    return;
+                }
+            }
+            if (!send(subscriber, next)) {
+                return;
+            }
+        }
+        // Closed on overflow (or by the container): end the response so the browser reconnects
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException e) {
+            // Already completed
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        synchronized (subscriber) {
+            subscriber.closed = true;
+            subscriber.queue.clear();
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(OrderStreamEvent event) {
+        return SseEmitter.event()
+                .id(eventId(event.getId()))
+                .name(event.getType().name().toLowerCase().replace('_', '-'))
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            close(subscriber);
+            log.debug("Dropping event stream subscriber {} {}: {}", subscriber.scope, subscriber.id,
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + ID_SEPARATOR + sequence;
+    }
+
+    // Sequence of an event id issued by this instance; null (forcing a resync)
+    // for a missing, malformed or foreign id
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || !lastEventId.trim().startsWith(epoch + ID_SEPARATOR)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim().substring(epoch.length() + ID_SEPARATOR.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Subscriber {
+        private final Scope scope;
+        private final String id;
+        private final SseEmitter emitter;
+        // Guarded by the subscriber
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(Scope scope, String id, SseEmitter emitter) {
+            this.scope = scope;
+            this.id = id;
+            this.emitter = emitter;
+        }
+
+        private boolean matches(OrderStreamEvent event) {
+            return switch (scope) {
+                case ORDER -> Objects.equals(id, event.getOrderId());
+                case CUSTOMER -> Objects.equals(id, event.getCustomerId());
+                case TENANT -> Objects.equals(id, event.getTenantId());
+            };
+        }
+    }
+}
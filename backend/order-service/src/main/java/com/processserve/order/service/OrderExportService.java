@@ -0,0 +1,150 @@
+package com.processserve.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processserve.order.dto.OrderSummary;
+import com.processserve.order.entity.Order;
+import com.processserve.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streaming tenant order export (CSV or NDJSON) for billing. Rows come from a
+ * forward-only database stream of summary projections and are written as they
+ * arrive, so memory stays flat and the header goes out before the first row is
+ * read.
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final String[] COLUMNS = {
+            "orderNumber", "customName", "status", "orderType", "documentType", "caseNumber", "jurisdiction",
+            "customerId", "totalRecipients", "customerPaymentAmount", "finalAgreedPrice", "processServerPayout",
+            "tenantProfit", "deadline", "createdAt", "assignedAt", "completedAt"
+    };
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final LocalDateTime MIN_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_CREATED_AT = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderExportService(OrderRepository orderRepository, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Write the tenant's orders created in [from, to] (inclusive dates, both
+     * optional) with one of {@code statuses} (all when empty), oldest first.
+     */
+    public void export(String tenantId, Collection<Order.OrderStatus> statuses, LocalDate from, LocalDate to,
+            Format format, OutputStream output) throws IOException {
+        Collection<Order.OrderStatus> statusFilter = statuses == null || statuses.isEmpty()
+                ? List.of(Order.OrderStatus.values())
+                : statuses;
+        LocalDateTime start = from != null ? from.atStartOfDay() : MIN_CREATED_AT;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : MAX_CREATED_AT;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+        writer.flush();
+
+        Integer exported = transactionTemplate.execute(status -> {
+            int rows = 0;
+            try (Stream<OrderSummary> stream = orderRepository.streamForExport(tenantId, statusFilter, start, end)) {
+                for (OrderSummary order : (Iterable<OrderSummary>) stream::iterator) {
+                    Map<String, Object> row = toRow(order);
+                    if (format == Format.CSV) {
+                        writeCsvRow(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    if (++rows % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away; stop reading and release the connection
+                throw new UncheckedIOException(e);
+            }
+            return rows;
+        });
+        writer.flush();
+        log.info("Exported {} orders for tenant {} as {}", exported, tenantId, format);
+    }
+
+    private Map<String, Object> toRow(OrderSummary order) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("orderNumber", order.getOrderNumber());
+        row.put("customName", order.getCustomName());
+        row.put("status", order.getStatus());
+        row.put("orderType", order.getOrderType());
+        row.put("documentType", order.getDocumentType());
+        row.put("caseNumber", order.getCaseNumber());
+        row.put("jurisdiction", order.getJurisdiction());
+        row.put("customerId", order.getCustomerId());
+        row.put("totalRecipients", order.getTotalRecipients());
+        row.put("customerPaymentAmount", order.getCustomerPaymentAmount());
+        row.put("finalAgreedPrice", order.getFinalAgreedPrice());
+        row.put("processServerPayout", order.getProcessServerPayout());
+        row.put("tenantProfit", order.getTenantProfit());
+        row.put("deadline", order.getDeadline());
+        row.put("createdAt", order.getCreatedAt());
+        row.put("assignedAt", order.getAssignedAt());
+        row.put("completedAt", order.getCompletedAt());
+        return row;
+    }
+
+    private void writeCsvRow(Writer writer, Map<String, Object> row) throws IOException {
+        boolean first = true;
+        for (String column : COLUMNS) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            Object value = row.get(column);
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,335 @@
+package com.processserve.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processserve.order.dto.CreateOrderRequest;
+import com.processserve.order.dto.ImportRowResult;
+import com.processserve.order.entity.Order;
+import com.processserve.order.util.CsvReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk order import. Rows are stream-parsed from CSV or NDJSON, validated in
+ * parallel, and created in fixed-size batches (one transaction and one flush
+ * per batch, so inserts go out as JDBC batches). A result line is written to
+ * the response for every row as soon as its batch finishes.
+ *
+ * NDJSON: one CreateOrderRequest JSON object per line.
+ * CSV: a header row of CreateOrderRequest property names; columns prefixed
+ * "recipient." fill the order's single recipient.
+ */
+@Service
+@Slf4j
+public class OrderImportService {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null) {
+                String type = contentType.toLowerCase();
+                if (type.startsWith("text/csv")) {
+                    return CSV;
+                }
+                if (type.startsWith("application/x-ndjson") || type.startsWith("application/json")) {
+                    return NDJSON;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                    + " (use text/csv or application/x-ndjson)");
+        }
+    }
+
+    private static final String RECIPIENT_PREFIX = "recipient.";
+
+    private final OrderService orderService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService validationPool;
+    private final int batchSize;
+
+    public OrderImportService(OrderService orderService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${orders.import.batch-size:100}") int batchSize,
+            @Value("${orders.import.validation-workers:4}") int validationWorkers) {
+        this.orderService = orderService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.validationPool = Executors.newFixedThreadPool(validationWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "order-import-validate");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdown();
+    }
+
+    /**
+     * Import every row of {@code input}, writing one NDJSON {@link ImportRowResult}
+     * per row to {@code output} followed by a summary line.
+     * {@code tenantId}/{@code customerId}, when given, fill rows that omit them;
+     * rows for a different tenant are rejected.
+     */
+    public void importOrders(InputStream input, Format format, String tenantId, String customerId,
+            OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowSource rows = format == Format.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        ParsedRow row;
+        while ((row = rows.next()) != null) {
+            applyDefaults(row, tenantId, customerId);
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                writeResults(processBatch(batch), output, totals);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeResults(processBatch(batch), output, totals);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summary", true);
+        summary.put("total", totals.values().stream().mapToInt(Integer::intValue).sum());
+        summary.putAll(totals);
+        output.write(objectMapper.writeValueAsBytes(summary));
+        output.write('\n');
+        output.flush();
+        log.info("Bulk import finished: {}", summary);
+    }
+
+    private List<ImportRowResult> processBatch(List<ParsedRow> batch) {
+        // Validate in parallel; parse errors are already recorded on the row
+        List<CompletableFuture<List<String>>> validations = new ArrayList<>(batch.size());
+        for (ParsedRow row : batch) {
+            validations.add(row.errors.isEmpty()
+                    ? CompletableFuture.supplyAsync(() -> validate(row.request), validationPool)
+                    : CompletableFuture.completedFuture(row.errors));
+        }
+
+        List<ImportRowResult> results = new ArrayList<>(batch.size());
+        List<ParsedRow> valid = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            List<String> errors = validations.get(i).join();
+            if (errors.isEmpty()) {
+                valid.add(batch.get(i));
+            } else {
+                results.add(ImportRowResult.invalid(batch.get(i).rowNumber, errors));
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                results.addAll(createAll(valid));
+            } catch (Exception e) {
+                // One bad row rolls back the batch: retry row by row to isolate it
+                log.warn("Import batch of {} failed ({}), retrying rows individually", valid.size(), e.getMessage());
+                for (ParsedRow row : valid) {
+                    try {
+                        results.addAll(createAll(List.of(row)));
+                    } catch (Exception rowError) {
+                        results.add(ImportRowResult.failed(row.rowNumber, rowError.getMessage()));
+                    }
+                }
+            }
+        }
+        results.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return results;
+    }
+
+    private List<ImportRowResult> createAll(List<ParsedRow> rows) {
+        return transactionTemplate.execute(status -> {
+            List<Order> orders = new ArrayList<>(rows.size());
+            for (ParsedRow row : rows) {
+                orders.add(orderService.buildOrder(row.request));
+            }
+            orderService.persistNewOrders(orders);
+
+            List<ImportRowResult> results = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                results.add(ImportRowResult.created(rows.get(i).rowNumber, orders.get(i)));
+            }
+            return results;
+        });
+    }
+
+    private List<String> validate(CreateOrderRequest request) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<CreateOrderRequest> violation : validator.validate(request)) {
+            errors.add(violation.getMessage());
+        }
+        if (request.getRecipients() == null || request.getRecipients().isEmpty()) {
+            if (errors.stream().noneMatch(e -> e.contains("recipient"))) {
+                errors.add("At least one recipient is required");
+            }
+        } else {
+            for (int i = 0; i < request.getRecipients().size(); i++) {
+                for (ConstraintViolation<CreateOrderRequest.RecipientRequest> violation : validator
+                        .validate(request.getRecipients().get(i))) {
+                    errors.add("Recipient " + (i + 1) + ": " + violation.getMessage());
+                }
+            }
+        }
+        return errors;
+    }
+
+    private void applyDefaults(ParsedRow row, String tenantId, String customerId) {
+        if (!row.errors.isEmpty()) {
+            return;
+        }
+        CreateOrderRequest request = row.request;
+        if (tenantId != null) {
+            if (request.getTenantId() == null || request.getTenantId().isBlank()) {
+                request.setTenantId(tenantId);
+            } else if (!tenantId.equals(request.getTenantId())) {
+                row.errors.add("Row belongs to tenant " + request.getTenantId() + ", not " + tenantId);
+            }
+        }
+        if (customerId != null && (request.getCustomerId() == null || request.getCustomerId().isBlank())) {
+            request.setCustomerId(customerId);
+        }
+    }
+
+    private void writeResults(List<ImportRowResult> results, OutputStream output, Map<String, Integer> totals)
+            throws IOException {
+        for (ImportRowResult result : results) {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+            totals.merge(result.getStatus().name().toLowerCase(), 1, Integer::sum);
+        }
+        output.flush();
+    }
+
+    // ============================================
+    // Row parsing
+    // ============================================
+
+    private static class ParsedRow {
+        final int rowNumber;
+        final CreateOrderRequest request;
+        final List<String> errors = new ArrayList<>();
+
+        ParsedRow(int rowNumber, CreateOrderRequest request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+
+        static ParsedRow unparseable(int rowNumber, String error) {
+            ParsedRow row = new ParsedRow(rowNumber, null);
+            row.errors.add(error);
+            return row;
+        }
+    }
+
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private int lineNumber;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(lineNumber, objectMapper.readValue(line, CreateOrderRequest.class));
+                } catch (JsonProcessingException e) {
+                    return ParsedRow.unparseable(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private class CsvRowSource implements RowSource {
+        private final CsvReader csv;
+        private List<String> header;
+
+        CsvRowSource(BufferedReader reader) {
+            this.csv = new CsvReader(reader);
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            if (header == null) {
+                header = csv.next();
+                if (header == null) {
+                    return null;
+                }
+            }
+            int lineNumber = csv.getLineNumber();
+            List<String> fields;
+            try {
+                fields = csv.next();
+            } catch (CsvReader.MalformedRecordException e) {
+                return ParsedRow.unparseable(lineNumber, "Invalid CSV: " + e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+
+            Map<String, Object> order = new HashMap<>();
+            Map<String, Object> recipient = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                String column = header.get(i).trim();
+                String value = fields.get(i).trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                if (column.startsWith(RECIPIENT_PREFIX)) {
+                    recipient.put(column.substring(RECIPIENT_PREFIX.length()), value);
+                } else {
+                    order.put(column, value);
+                }
+            }
+            order.put("recipients", recipient.isEmpty() ? List.of() : List.of(recipient));
+            try {
+                return new ParsedRow(lineNumber, objectMapper.convertValue(order, CreateOrderRequest.class));
+            } catch (IllegalArgumentException e) {
+                return ParsedRow.unparseable(lineNumber, "Invalid row: " + e.getMessage());
+            }
+        }
+    }
+}
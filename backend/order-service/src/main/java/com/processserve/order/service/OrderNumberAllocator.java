@@ -0,0 +1,130 @@
+package com.processserve.order.service;
+
+import com.processserve.order.repository.OrderNumberSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out ORD-YYYY-NNN order numbers without a table count or retry loop.
+ *
+ * Hi/lo allocation: each instance reserves a block of numbers by advancing the
+ * per-year row in order_number_sequences with a single UPDATE, and then serves
+ * numbers from memory without locking. Blocks never overlap across replicas,
+ * so numbers are unique; they are not strictly in creation order across
+ * replicas, and unused numbers of a block are skipped when an instance
+ * restarts (or when two threads refill at once).
+ *
+ * Once half of the current block is used, the next block is reserved on a
+ * background thread, so order creation normally never opens a second
+ * transaction (and takes a second pooled connection) for the reservation. Only
+ * if that prefetch has not landed in time does the caller reserve inline.
+ */
+@Service
+@Slf4j
+public class OrderNumberAllocator {
+
+    private final OrderNumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-number-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0, 0, 0));
+    // Next block, reserved ahead of time
+    private final AtomicReference<Block> spare = new AtomicReference<>();
+    private final AtomicBoolean prefetching = new AtomicBoolean();
+
+    public OrderNumberAllocator(OrderNumberSequenceRepository sequenceRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${orders.number-block-size:20}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        // The reservation must commit on its own: the block is served from memory
+        // even if the caller's order transaction rolls back
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public String nextOrderNumber() {
+        int year = java.time.Year.now().getValue();
+        while (true) {
+            Block block = current.get();
+            if (block.year == year) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    if (value == block.prefetchAt) {
+                        prefetch(year);
+                    }
+                    // Format: ORD-2026-001, ORD-2026-002, etc.
+                    return String.format("ORD-%d-%03d", year, value);
+                }
+            }
+
+            Block replacement = spare.getAndSet(null);
+            if (replacement == null || replacement.year != year) {
+                replacement = reserveBlock(year);
+            }
+            if (!current.compareAndSet(block, replacement)) {
+                // Another thread installed a block first; keep ours for later
+                spare.compareAndSet(null, replacement);
+            }
+        }
+    }
+
+    private void prefetch(int year) {
+        if (spare.get() != null || !prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        prefetcher.execute(() -> {
+            try {
+                spare.compareAndSet(null, reserveBlock(year));
+            } catch (Exception e) {
+                // The next caller to run out reserves inline instead
+                log.warn("Could not prefetch order numbers for {}: {}", year, e.getMessage());
+            } finally {
+                prefetching.set(false);
+            }
+        });
+    }
+
+    private Block reserveBlock(int year) {
+        long start = reserveTransaction.execute(status -> {
+            if (sequenceRepository.advance(year, blockSize) == 0) {
+                sequenceRepository.insertIfAbsent(year, sequenceRepository.findMaxOrderSuffix(year) + 1);
+                sequenceRepository.advance(year, blockSize);
+            }
+            long end = sequenceRepository.findNextValue(year)
+                    .orElseThrow(() -> new IllegalStateException("Order number sequence missing for " + year));
+            return end - blockSize;
+        });
+        log.debug("Reserved order numbers {}-{} for {}", start, start + blockSize - 1, year);
+        return new Block(year, start, start + blockSize, start + blockSize / 2);
+    }
+
+    private static final class Block {
+        private final int year;
+        private final AtomicLong next;
+        private final long end; // exclusive
+        private final long prefetchAt;
+
+        private Block(int year, long start, long end, long prefetchAt) {
+            this.year = year;
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.prefetchAt = prefetchAt;
+        }
+    }
+}
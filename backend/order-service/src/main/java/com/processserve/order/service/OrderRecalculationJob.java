@@ -0,0 +1,241 @@
+package com.processserve.order.service;
+
+import com.processserve.order.entity.BatchJobCheckpoint;
+import com.processserve.order.entity.Order;
+import com.processserve.order.repository.BatchJobCheckpointRepository;
+import com.processserve.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chunked, resumable recalculation of COMPLETED order totals.
+ *
+ * A coordinator thread walks order ids in keyset order (id ASC) and hands
+ * chunks to a bounded worker pool; each chunk commits in its own transaction
+ * (OrderRecalculationService.recalculateChunk). The checkpoint only advances
+ * past a chunk once it and every earlier chunk have committed, so after a crash
+ * the job resumes from the checkpoint and at worst recalculates a few chunks
+ * again (recalculation is idempotent).
+ *
+ * The job runs on one instance at a time: the coordinator holds a job lease
+ * and renews it after every chunk, and stops if it loses it.
+ */
+@Service
+@Slf4j
+public class OrderRecalculationJob {
+
+    public static final String JOB_NAME = "order-recalculation";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(5);
+
+    private final OrderRepository orderRepository;
+    private final OrderRecalculationService recalculationService;
+    private final BatchJobCheckpointRepository checkpointRepository;
+    private final JobLeaseService jobLeaseService;
+    private final int chunkSize;
+    private final int workers;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong runProcessed = new AtomicLong();
+    private volatile LocalDateTime runStartedAt;
+    private volatile BatchJobCheckpoint current;
+
+    public OrderRecalculationJob(OrderRepository orderRepository,
+            OrderRecalculationService recalculationService,
+            BatchJobCheckpointRepository checkpointRepository,
+            JobLeaseService jobLeaseService,
+            @Value("${orders.recalculation.chunk-size:200}") int chunkSize,
+            @Value("${orders.recalculation.workers:4}") int workers) {
+        this.orderRepository = orderRepository;
+        this.recalculationService = recalculationService;
+        this.checkpointRepository = checkpointRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * Start the job in the background. With restart=false an unfinished run is
+     * resumed from its checkpoint and a completed one is left alone.
+     *
+     * @return false if the job is already running here or on another instance
+     *         (or nothing to resume)
+     */
+    public boolean start(boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        if (!jobLeaseService.tryAcquire(JOB_NAME, LEASE_DURATION)) {
+            running.set(false);
+            return false;
+        }
+
+        BatchJobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        if (!restart && checkpoint != null && checkpoint.getStatus() == BatchJobCheckpoint.JobStatus.COMPLETED) {
+            jobLeaseService.release(JOB_NAME);
+            running.set(false);
+            current = checkpoint;
+            return false;
+        }
+        if (restart || checkpoint == null) {
+            checkpoint = new BatchJobCheckpoint();
+            checkpoint.setJobName(JOB_NAME);
+            checkpoint.setStartedAt(LocalDateTime.now());
+        } else {
+            log.info("Resuming order recalculation after id {}", checkpoint.getLastProcessedId());
+        }
+        checkpoint.setStatus(BatchJobCheckpoint.JobStatus.RUNNING);
+        checkpoint.setCompletedAt(null);
+        checkpoint.setLastError(null);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        current = checkpointRepository.save(checkpoint);
+
+        runProcessed.set(0);
+        runStartedAt = LocalDateTime.now();
+        Thread coordinator = new Thread(() -> run(current), JOB_NAME);
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Map<String, Object> getStatus() {
+        BatchJobCheckpoint checkpoint = current != null ? current
+                : checkpointRepository.findById(JOB_NAME).orElse(null);
+        Map<String, Object> status = new HashMap<>();
+        status.put("job", JOB_NAME);
+        status.put("running", running.get());
+        status.put("chunkSize", chunkSize);
+        status.put("workers", workers);
+        if (checkpoint == null) {
+            status.put("status", "NEVER_RUN");
+            return status;
+        }
+        status.put("status", checkpoint.getStatus());
+        status.put("processed", checkpoint.getProcessedCount());
+        status.put("updated", checkpoint.getUpdatedCount());
+        status.put("failed", checkpoint.getFailedCount());
+        status.put("lastProcessedId", checkpoint.getLastProcessedId());
+        status.put("startedAt", checkpoint.getStartedAt());
+        status.put("updatedAt", checkpoint.getUpdatedAt());
+        status.put("completedAt", checkpoint.getCompletedAt());
+        status.put("lastError", checkpoint.getLastError());
+        if (runStartedAt != null) {
+            LocalDateTime end = running.get() || checkpoint.getUpdatedAt() == null ? LocalDateTime.now()
+                    : checkpoint.getUpdatedAt();
+            double seconds = Math.max(Duration.between(runStartedAt, end).toMillis(), 1) / 1000.0;
+            status.put("ordersPerSecond", Math.round(runProcessed.get() / seconds * 10) / 10.0);
+        }
+        return status;
+    }
+
+    private void run(BatchJobCheckpoint checkpoint) {
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, JOB_NAME + "-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // At most two chunks per worker in flight; bounds memory and checkpoint lag
+        Semaphore inFlight = new Semaphore(workers * 2);
+        Deque<PendingChunk> pending = new ArrayDeque<>();
+        String after = checkpoint.getLastProcessedId() != null ? checkpoint.getLastProcessedId() : "";
+
+        try {
+            while (true) {
+                List<String> ids = orderRepository.findIdsForRecalculation(Order.OrderStatus.COMPLETED, after,
+                        PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                if (!jobLeaseService.tryAcquire(JOB_NAME, LEASE_DURATION)) {
+                    throw new IllegalStateException("Lost the job lease to another instance");
+                }
+                after = ids.get(ids.size() - 1);
+
+                inFlight.acquire();
+                Future<OrderRecalculationService.ChunkResult> future = pool.submit(() -> {
+                    try {
+                        return recalculationService.recalculateChunk(ids);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                pending.add(new PendingChunk(after, future));
+                commitFinished(pending, checkpoint, false);
+            }
+            commitFinished(pending, checkpoint, true);
+
+            checkpoint.setStatus(BatchJobCheckpoint.JobStatus.COMPLETED);
+            checkpoint.setCompletedAt(LocalDateTime.now());
+            log.info("Order recalculation completed: {} processed, {} updated, {} failed",
+                    checkpoint.getProcessedCount(), checkpoint.getUpdatedCount(), checkpoint.getFailedCount());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            String message = String.valueOf(cause.getMessage());
+            checkpoint.setStatus(BatchJobCheckpoint.JobStatus.FAILED);
+            checkpoint.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+            log.error("Order recalculation failed after id {}: {}", checkpoint.getLastProcessedId(), message);
+        } finally {
+            pool.shutdown();
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            current = checkpointRepository.save(checkpoint);
+            jobLeaseService.release(JOB_NAME);
+            running.set(false);
+        }
+    }
+
+    /**
+     * Fold finished chunks at the head of the queue into the checkpoint. Only a
+     * contiguous prefix is taken so the checkpoint never skips an unfinished chunk.
+     */
+    private void commitFinished(Deque<PendingChunk> pending, BatchJobCheckpoint checkpoint, boolean waitForAll)
+            throws InterruptedException, ExecutionException {
+        boolean advanced = false;
+        while (!pending.isEmpty() && (waitForAll || pending.peekFirst().future.isDone())) {
+            PendingChunk chunk = pending.pollFirst();
+            OrderRecalculationService.ChunkResult result = chunk.future.get();
+            checkpoint.setProcessedCount(checkpoint.getProcessedCount() + result.getProcessed());
+            checkpoint.setUpdatedCount(checkpoint.getUpdatedCount() + result.getUpdated());
+            checkpoint.setFailedCount(checkpoint.getFailedCount() + result.getFailed());
+            checkpoint.setLastProcessedId(chunk.lastId);
+            runProcessed.addAndGet(result.getProcessed());
+            advanced = true;
+        }
+        if (advanced) {
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            current = checkpointRepository.save(checkpoint);
+        }
+    }
+
+    private static final class PendingChunk {
+        private final String lastId;
+        private final Future<OrderRecalculationService.ChunkResult> future;
+
+        private PendingChunk(String lastId, Future<OrderRecalculationService.ChunkResult> future) {
+            this.lastId = lastId;
+            this.future = future;
+        }
+    }
+}
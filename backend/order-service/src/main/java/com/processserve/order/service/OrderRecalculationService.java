@@ -1,60 +1,86 @@
 package com.processserve.order.service;
 
 import com.processserve.order.entity.Order;
+import com.processserve.order.entity.RevenueLedgerEntry;
 import com.processserve.order.repository.OrderRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OrderRecalculationService {
 
     private final OrderRepository orderRepository;
+    private final RevenueLedgerService revenueLedgerService;
+    private final TransactionTemplate orderTransaction;
+
+    public OrderRecalculationService(OrderRepository orderRepository,
+            RevenueLedgerService revenueLedgerService,
+            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.revenueLedgerService = revenueLedgerService;
+        this.orderTransaction = new TransactionTemplate(transactionManager);
+        this.orderTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
-     * Recalculate all COMPLETED orders to fix the super admin fee calculation
-     * This should be run once to fix historical data
+     * Recalculate one chunk of COMPLETED orders to fix the super admin fee
+     * calculation. Each order commits in its own short transaction, so a
+     * failing order is rolled back and counted without affecting the rest of
+     * the chunk. Driven by OrderRecalculationJob, which walks all orders chunk
+     * by chunk.
      */
-    @Transactional
-    public void recalculateAllCompletedOrders() {
-        log.info("Starting recalculation of all completed orders...");
-
-        List<Order> completedOrders = orderRepository.findAll().stream()
-                .filter(order -> order.getStatus() == Order.OrderStatus.COMPLETED)
-                .filter(order -> order.getCustomerPaymentAmount() != null)
-                .toList();
-
-        log.info("Found {} completed orders to recalculate", completedOrders.size());
-
-        int recalculated = 0;
-        for (Order order : completedOrders) {
+    public ChunkResult recalculateChunk(List<String> orderIds) {
+        int processed = 0;
+        int updated = 0;
+        int failed = 0;
+        for (String orderId : orderIds) {
             try {
-                recalculateOrder(order);
-                orderRepository.save(order);
-                recalculated++;
+                Boolean changed = orderTransaction.execute(status -> {
+                    Order order = orderRepository.findById(orderId).orElse(null);
+                    if (order == null) {
+                        return null;
+                    }
+                    if (!recalculateOrder(order)) {
+                        return false;
+                    }
+                    revenueLedgerService.recordOrderRevenue(order, RevenueLedgerEntry.Source.RECALCULATION);
+                    return true;
+                });
+                if (changed == null) {
+                    // Order deleted since the chunk was listed
+                    continue;
+                }
+                processed++;
+                if (changed) {
+                    updated++;
+                }
             } catch (Exception e) {
-                log.error("Failed to recalculate order {}: {}", order.getId(), e.getMessage());
+                processed++;
+                failed++;
+                log.error("Failed to recalculate order {}: {}", orderId, e.getMessage());
             }
         }
-
-        log.info("Recalculation complete. Updated {} orders", recalculated);
+        return new ChunkResult(processed, updated, failed);
     }
 
-    private void recalculateOrder(Order order) {
+    private boolean recalculateOrder(Order order) {
         // Current values
         BigDecimal customerPayment = order.getCustomerPaymentAmount();
         BigDecimal serverPayout = order.getProcessServerPayout();
 
         if (customerPayment == null || serverPayout == null) {
             log.warn("Order {} has null payment values, skipping", order.getId());
-            return;
+            return false;
         }
 
         // Calculate correct commission
@@ -76,5 +102,14 @@ public class OrderRecalculationService {
 
         log.debug("Recalculated order {}: Commission={}, SuperFee={}, Profit={}",
                 order.getOrderNumber(), tenantCommission, superAdminFee, tenantProfit);
+        return true;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ChunkResult {
+        private final int processed;
+        private final int updated;
+        private final int failed;
     }
 }
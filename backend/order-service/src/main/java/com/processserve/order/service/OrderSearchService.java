@@ -0,0 +1,239 @@
+package com.processserve.order.service;
+
+import com.processserve.order.entity.Order;
+import com.processserve.order.entity.OrderRecipient;
+import com.processserve.order.entity.OrderSearchToken;
+import com.processserve.order.repository.OrderRepository;
+import com.processserve.order.repository.OrderSearchTokenRepository;
+import com.processserve.order.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Case search index. Each order is broken into lower-cased alphanumeric words
+ * (plus a separator-free form of order/case numbers, so "ORD2026" finds
+ * "ORD-2026-039") stored in order_search_tokens. The index is rewritten in the
+ * same transaction as every order write that touches a searchable field.
+ *
+ * A query matches an order when every query word is a prefix of one of the
+ * order's words. Matching, ordering and paging happen in one query over the
+ * index joined to orders, so no per-word id sets are built or capped.
+ */
+@Service
+@Slf4j
+public class OrderSearchService {
+
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+    private static final String BACKFILL_LEASE = "order-search-backfill";
+    private static final Duration BACKFILL_LEASE_DURATION = Duration.ofMinutes(5);
+
+    private final OrderSearchTokenRepository tokenRepository;
+    private final OrderRepository orderRepository;
+    private final JobLeaseService jobLeaseService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderSearchService(OrderSearchTokenRepository tokenRepository,
+            OrderRepository orderRepository,
+            JobLeaseService jobLeaseService,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.tokenRepository = tokenRepository;
+        this.orderRepository = orderRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Replace the order's index rows. Must be called inside the writing transaction.
+     */
+    public void index(Order order) {
+        tokenRepository.deleteByOrderId(order.getId());
+        indexNew(order);
+    }
+
+    /**
+     * Index an order that has no rows yet (just created). All of its words go
+     * in one multi-row INSERT.
+     */
+    public void indexNew(Order order) {
+        List<String> tokens = new ArrayList<>(tokensFor(order));
+        if (tokens.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO order_search_tokens (order_id, tenant_id, token) VALUES ");
+        for (int i = 0; i < tokens.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:orderId, :tenantId, :token").append(i).append(")");
+        }
+        Query insert = entityManager.createNativeQuery(sql.toString())
+                .setParameter("orderId", order.getId())
+                .setParameter("tenantId", order.getTenantId());
+        for (int i = 0; i < tokens.size(); i++) {
+            insert.setParameter("token" + i, tokens.get(i));
+        }
+        // Only the index table is affected; don't flush or invalidate anything else
+        insert.unwrap(NativeQuery.class).addSynchronizedEntityClass(OrderSearchToken.class);
+        insert.executeUpdate();
+    }
+
+    /**
+     * Ids of orders matching every word of {@code query}, optionally within one
+     * tenant, newest first (created_at DESC, id DESC) and starting after
+     * {@code after} when given. At most {@code limit} ids; null for all matches.
+     *
+     * Each index row is joined to the query words it is a prefix of, and an
+     * order matches when it covers as many distinct words as the query has.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> findMatchingOrderIds(String query, String tenantId, KeysetCursor after, Integer limit) {
+        List<String> terms = new ArrayList<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        StringBuilder words = new StringBuilder();
+        StringBuilder prefixes = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            words.append(i == 0 ? "SELECT " : " UNION ALL SELECT ").append(":term").append(i).append(" AS term");
+            prefixes.append(i == 0 ? "" : " OR ").append("t.token LIKE :prefix").append(i);
+        }
+        StringBuilder sql = new StringBuilder("SELECT o.id FROM order_search_tokens t ")
+                .append("JOIN (").append(words).append(") q ON t.token LIKE CONCAT(q.term, '%') ")
+                .append("JOIN orders o ON o.id = t.order_id ")
+                // Repeats the prefixes so the token index is range-scanned per word
+                .append("WHERE (").append(prefixes).append(")");
+        if (tenantId != null) {
+            sql.append(" AND t.tenant_id = :tenantId");
+        }
+        if (after != null) {
+            sql.append(" AND (o.created_at < :afterCreatedAt OR (o.created_at = :afterCreatedAt AND o.id < :afterId))");
+        }
+        sql.append(" GROUP BY o.id, o.created_at HAVING COUNT(DISTINCT q.term) = :terms")
+                .append(" ORDER BY o.created_at DESC, o.id DESC");
+
+        Query search = entityManager.createNativeQuery(sql.toString())
+                .setParameter("terms", terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            search.setParameter("term" + i, terms.get(i));
+            search.setParameter("prefix" + i, terms.get(i) + "%");
+        }
+        if (tenantId != null) {
+            search.setParameter("tenantId", tenantId);
+        }
+        if (after != null) {
+            search.setParameter("afterCreatedAt", after.getCreatedAt());
+            search.setParameter("afterId", after.getId());
+        }
+        if (limit != null) {
+            search.setMaxResults(limit);
+        }
+        return search.getResultList();
+    }
+
+    /**
+     * Build the index for existing orders the first time the service starts with
+     * an empty index. Runs in chunks so no single transaction spans the table.
+     * Only the replica holding the backfill lease does this, renewing it per
+     * chunk; other replicas skip it and see the index fill in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (tokenRepository.count() > 0) {
+            return;
+        }
+        if (!jobLeaseService.tryAcquire(BACKFILL_LEASE, BACKFILL_LEASE_DURATION)) {
+            log.info("Case search index backfill is running on another instance");
+            return;
+        }
+        try {
+            // Another replica may have finished the backfill before we took the lease
+            if (tokenRepository.count() > 0) {
+                return;
+            }
+            String afterId = "";
+            int indexed = 0;
+            while (true) {
+                List<String> ids = orderRepository.findIdsAfter(afterId, PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                if (!jobLeaseService.tryAcquire(BACKFILL_LEASE, BACKFILL_LEASE_DURATION)) {
+                    throw new IllegalStateException("Lost the search backfill lease to another instance");
+                }
+                transactionTemplate.executeWithoutResult(
+                        status -> orderRepository.findAllById(ids).forEach(this::index));
+                indexed += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+            log.info("Case search index backfilled for {} orders", indexed);
+        } finally {
+            jobLeaseService.release(BACKFILL_LEASE);
+        }
+    }
+
+    Set<String> tokensFor(Order order) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addIdentifier(tokens, order.getOrderNumber());
+        addIdentifier(tokens, order.getCaseNumber());
+        tokens.addAll(tokenize(order.getJurisdiction()));
+        tokens.addAll(tokenize(order.getCustomName()));
+        if (order.getRecipients() != null) {
+            for (OrderRecipient recipient : order.getRecipients()) {
+                addIdentifier(tokens, recipient.getRecipientOrderNumber());
+                tokens.addAll(tokenize(recipient.getRecipientName()));
+                tokens.addAll(tokenize(recipient.getFirstName()));
+                tokens.addAll(tokenize(recipient.getLastName()));
+                tokens.addAll(tokenize(recipient.getOrganizationName()));
+            }
+        }
+        return tokens;
+    }
+
+    // Identifiers are indexed both word by word and with separators stripped
+    private void addIdentifier(Set<String> tokens, String value) {
+        Set<String> words = tokenize(value);
+        tokens.addAll(words);
+        if (words.size() > 1) {
+            tokens.add(truncate(String.join("", words)));
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                tokens.add(truncate(word));
+            }
+        }
+        return tokens;
+    }
+
+    private static String truncate(String token) {
+        return token.length() > OrderSearchToken.MAX_TOKEN_LENGTH
+                ? token.substring(0, OrderSearchToken.MAX_TOKEN_LENGTH)
+                : token;
+    }
+}
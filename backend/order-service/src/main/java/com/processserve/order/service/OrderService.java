@@ -4,10 +4,17 @@ import com.processserve.order.dto.CreateOrderRequest;
 import com.processserve.order.dto.RecordAttemptRequest;
 import com.processserve.order.dto.UpdateOrderRequest;
 import com.processserve.order.dto.CancelOrderRequest;
+import com.processserve.order.dto.KeysetPage;
+import com.processserve.order.dto.OrderSummary;
+import com.processserve.order.dto.RecipientSummary;
 import com.processserve.order.entity.*;
+import com.processserve.order.event.OrderEventPublisher;
 import com.processserve.order.repository.*;
+import com.processserve.order.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,7 +27,9 @@ import java.nio.file.StandardCopyOption;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.web.multipart.MultipartFile;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -38,32 +47,38 @@ public class OrderService {
     private final DocumentPageCounter documentPageCounter;
     private final OrderDocumentRepository orderDocumentRepository;
     private final ProcessServerPricingService pricingService;
+    private final OrderEventPublisher orderEventPublisher;
+    private final CustomerNameService customerNameService;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final jakarta.persistence.EntityManager entityManager;
+    private final RevenueLedgerService revenueLedgerService;
+    private final OutboxService outboxService;
+    private final OrderTotalsService orderTotalsService;
+    private final OrderSearchService orderSearchService;
+    private final OrderDetailCache orderDetailCache;
 
+    /**
+     * Create an order with its recipients and chat participants in one transaction.
+     * Entities are persisted (not merged) and written by Hibernate as JDBC batches.
+     */
+    @Transactional
     public Order createOrder(CreateOrderRequest request) {
-        int maxRetries = 3;
-        int attempt = 0;
-        while (attempt < maxRetries) {
-            try {
-                return createOrderInternal(request);
-            } catch (org.springframework.dao.DataIntegrityViolationException e) {
-                attempt++;
-                log.warn("Duplicate order number detected, retrying (attempt {}/{})", attempt, maxRetries);
-                if (attempt >= maxRetries) {
-                    throw new RuntimeException(
-                            "Failed to generate unique order number after " + maxRetries + " attempts");
-                }
-                try {
-                    Thread.sleep(100 + new java.util.Random().nextInt(200)); // Random backoff
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-        throw new RuntimeException("Failed to create order");
+        // Order numbers come from OrderNumberAllocator and are unique, so no retry is needed
+        return createOrderInternal(request);
     }
 
-    @Transactional(isolation = org.springframework.transaction.annotation.Isolation.READ_COMMITTED)
+    @Transactional
     public Order createOrderInternal(CreateOrderRequest request) {
+        Order order = buildOrder(request);
+        persistNewOrders(List.of(order));
+        return order;
+    }
+
+    /**
+     * Build a new order and its recipients from a request without persisting
+     * it. Allocates the order number and resolves GUIDED pricing.
+     */
+    public Order buildOrder(CreateOrderRequest request) {
         log.info("Creating new order for customer: {}", request.getCustomerId());
 
         // Create main order
@@ -155,10 +170,19 @@ public class OrderService {
         order.setTenantProfit(BigDecimal.ZERO);
 
         // Generate unique order number
-        String orderNumber = generateUniqueOrderNumber();
+        String orderNumber = orderNumberAllocator.nextOrderNumber();
         order.setOrderNumber(orderNumber);
 
-        order = orderRepository.saveAndFlush(order);
+        // Resolve pricing for every GUIDED recipient up front in a single query
+        java.util.Set<String> guidedServerIds = new java.util.HashSet<>();
+        for (CreateOrderRequest.RecipientRequest recipientReq : request.getRecipients()) {
+            if ("GUIDED".equalsIgnoreCase(recipientReq.getRecipientType())
+                    && recipientReq.getAssignedProcessServerId() != null) {
+                guidedServerIds.add(recipientReq.getAssignedProcessServerId());
+            }
+        }
+        java.util.Map<String, List<ProcessServerPricing>> pricingByServer = pricingService
+                .getActivePricingByProcessServer(guidedServerIds);
 
         // Create recipients
         int sequence = 1;
@@ -231,9 +255,12 @@ public class OrderService {
                 // Calculate service options fee using process server's custom pricing
                 BigDecimal serviceOptionsFee = BigDecimal.ZERO;
                 try {
-                    ProcessServerPricingService.CalculatedPricing pricing = pricingService.calculateServiceOptions(
+                    ProcessServerPricing pricingRule = pricingService.selectPricing(
                         recipientReq.getAssignedProcessServerId(),
                         recipientReq.getRecipientZipCode(),
+                        pricingByServer.get(recipientReq.getAssignedProcessServerId()));
+                    ProcessServerPricingService.CalculatedPricing pricing = pricingService.calculateServiceOptions(
+                        pricingRule,
                         Boolean.TRUE.equals(recipientReq.getProcessService()),
                         Boolean.TRUE.equals(recipientReq.getCertifiedMail()),
                         Boolean.TRUE.equals(recipientReq.getRushService()),
@@ -274,10 +301,12 @@ public class OrderService {
                 anyBidding = true;
             }
 
-            recipientRepository.save(recipient);
+            // Persisted together with the order through the cascade
+            order.getRecipients().add(recipient);
         }
 
-        // Update Order Status based on recipients
+        // Update Order Status based on recipients. Set directly: orderCreated
+        // reports the initial status once, a transition here would count it twice
         if (anyAssigned && !anyBidding) {
             // All recipients are GUIDED and assigned
             order.setStatus(Order.OrderStatus.ASSIGNED);
@@ -288,43 +317,40 @@ public class OrderService {
         }
         // else: keep status as OPEN - will change to BIDDING when first bid is placed
 
-        orderRepository.save(order);
-
-        // Trigger notification service (would be implemented via Feign or messaging)
-        log.info("Order created successfully: {}", order.getId());
+        orderTotalsService.refresh(order);
+        return order;
+    }
 
-        // Requirement 9: Initialize Chat System
-        try {
-            // 1. Add Customer (Owner)
-            com.processserve.order.dto.AddParticipantRequest customerReq = new com.processserve.order.dto.AddParticipantRequest();
-            customerReq.setOrderId(order.getId());
-            customerReq.setUserId(order.getCustomerId());
-            customerReq.setUserRole("CUSTOMER");
-            chatParticipantService.addParticipant(customerReq, "SYSTEM");
-
-            // 2. Add Default Admin (admin-1)
-            com.processserve.order.dto.AddParticipantRequest adminReq = new com.processserve.order.dto.AddParticipantRequest();
-            adminReq.setOrderId(order.getId());
-            adminReq.setUserId("admin-1");
-            adminReq.setUserRole("ADMIN");
-            chatParticipantService.addParticipant(adminReq, "SYSTEM");
-
-            log.info("Chat initialized for order: {}", order.getId());
-        } catch (Exception e) {
-            log.error("Failed to initialize chat participants for order {}: {}", order.getId(), e.getMessage(), e);
-            // Don't fail order creation if chat init fails
+    /**
+     * Insert orders built by {@link #buildOrder} with their recipients and chat
+     * participants. One persist per order and a single flush, so Hibernate writes
+     * each table as JDBC batches however many orders are passed.
+     */
+    @Transactional
+    public void persistNewOrders(List<Order> orders) {
+        for (Order order : orders) {
+            entityManager.persist(order);
         }
+        entityManager.flush();
 
-        return order;
-    }
+        for (Order order : orders) {
+            orderSearchService.indexNew(order);
+            orderEventPublisher.orderCreated(order);
+
+            // Requirement 9: Initialize Chat System (customer owner + default admin), same transaction
+            chatParticipantService.initializeParticipants(order.getId(), order.getCustomerId(), "SYSTEM");
 
-    private final com.processserve.order.client.UserClient userClient;
+            // Trigger notification service (would be implemented via Feign or messaging)
+            log.info("Order created successfully: {} with {} recipients", order.getId(),
+                    order.getRecipients().size());
+        }
+    }
 
     @Transactional
     public void recordAttempt(RecordAttemptRequest request) {
         log.info("Recording delivery attempt for recipient: {}", request.getRecipientId());
 
-        OrderRecipient recipient = recipientRepository.findById(request.getRecipientId())
+        OrderRecipient recipient = recipientRepository.findForAttemptById(request.getRecipientId())
                 .orElseThrow(() -> new RuntimeException("Recipient not found"));
 
         // Validate GPS coordinates exist
@@ -354,7 +380,7 @@ public class OrderService {
         // Apply 5-attempt business logic
         if (request.getWasSuccessful()) {
             // SUCCESS - Mark recipient as delivered
-            recipient.setStatus(OrderRecipient.RecipientStatus.DELIVERED);
+            orderEventPublisher.recipientTransition(recipient, OrderRecipient.RecipientStatus.DELIVERED);
             recipient.setDeliveredAt(LocalDateTime.now());
             recipientRepository.save(recipient);
 
@@ -364,47 +390,36 @@ public class OrderService {
                     .allMatch(d -> d.getStatus() == OrderRecipient.RecipientStatus.DELIVERED);
 
             if (allDelivered) {
-                order.setStatus(Order.OrderStatus.COMPLETED);
+                orderEventPublisher.transition(order, Order.OrderStatus.COMPLETED);
                 order.setCompletedAt(LocalDateTime.now());
 
                 // Ensure payment breakdown is calculated for COMPLETED orders
                 ensurePaymentCalculated(order);
 
                 orderRepository.save(order);
+                revenueLedgerService.recordOrderRevenue(order, RevenueLedgerEntry.Source.ORDER_COMPLETED);
 
                 log.info("Order {} completed successfully", order.getId());
 
-                // Update process server stats (via Feign to user-service)
-                try {
-                    // Update stats: successful=true, attempts=currentAttempts
-                    java.util.Map<String, Object> statsRequest = new java.util.HashMap<>();
-                    statsRequest.put("successful", true);
-                    statsRequest.put("attemptCount", currentAttempts);
-                    userClient.updateStats(request.getProcessServerId(), statsRequest);
-
-                    // Auto-add to contact list
-                    userClient.autoAddProcessServer(order.getCustomerId(), request.getProcessServerId());
-                } catch (Exception e) {
-                    log.error("Failed to update stats or auto-add process server", e);
-                }
+                // Update process server stats and auto-add to the customer's contact list.
+                // Delivered to user-service by OutboxDispatcher after this transaction commits.
+                outboxService.enqueueProcessServerStats(request.getProcessServerId(), true, currentAttempts,
+                        order.getId());
+                outboxService.enqueueContactAutoAdd(order.getCustomerId(), request.getProcessServerId(),
+                        order.getId());
             }
 
         } else if (currentAttempts >= recipient.getMaxAttempts()) {
             // MAX ATTEMPTS REACHED - FAILED BUT STILL PAY
-            recipient.setStatus(OrderRecipient.RecipientStatus.FAILED);
+            orderEventPublisher.recipientTransition(recipient, OrderRecipient.RecipientStatus.FAILED);
             recipientRepository.save(recipient);
 
-            // Update stats for failure
-            try {
-                java.util.Map<String, Object> statsRequest = new java.util.HashMap<>();
-                statsRequest.put("successful", false);
-                statsRequest.put("attemptCount", currentAttempts);
-                userClient.updateStats(request.getProcessServerId(), statsRequest);
-            } catch (Exception e) {
-                log.error("Failed to update stats for failure", e);
-            }
-
             Order order = recipient.getOrder();
+
+            // Update stats for failure (via outbox)
+            outboxService.enqueueProcessServerStats(request.getProcessServerId(), false, currentAttempts,
+                    order.getId());
+
             boolean allDone = order.getRecipients().stream()
                     .allMatch(d -> d.getStatus() == OrderRecipient.RecipientStatus.DELIVERED ||
                             d.getStatus() == OrderRecipient.RecipientStatus.FAILED);
@@ -413,13 +428,14 @@ public class OrderService {
                 // Even if some Recipients failed due to max attempts, we mark the order as
                 // COMPLETED
                 // This ensures the process server gets paid for their valid attempts.
-                order.setStatus(Order.OrderStatus.COMPLETED);
+                orderEventPublisher.transition(order, Order.OrderStatus.COMPLETED);
                 order.setCompletedAt(LocalDateTime.now());
 
                 // Ensure payment breakdown is calculated for COMPLETED orders
                 ensurePaymentCalculated(order);
 
                 orderRepository.save(order);
+                revenueLedgerService.recordOrderRevenue(order, RevenueLedgerEntry.Source.ORDER_COMPLETED);
             }
 
             log.warn("Recipient {} failed after {} attempts", recipient.getId(), currentAttempts);
@@ -427,13 +443,13 @@ public class OrderService {
 
         } else {
             // More attempts remaining
-            recipient.setStatus(OrderRecipient.RecipientStatus.IN_PROGRESS);
+            orderEventPublisher.recipientTransition(recipient, OrderRecipient.RecipientStatus.IN_PROGRESS);
             recipientRepository.save(recipient);
 
             // Update Order status to IN_PROGRESS if not already
             Order order = recipient.getOrder();
             if (order.getStatus() != Order.OrderStatus.IN_PROGRESS) {
-                order.setStatus(Order.OrderStatus.IN_PROGRESS);
+                orderEventPublisher.transition(order, Order.OrderStatus.IN_PROGRESS);
                 orderRepository.save(order);
             }
 
@@ -446,105 +462,175 @@ public class OrderService {
         // Placeholder
     }
 
+    /**
+     * Order detail for the (polled) order page, served from the detail cache;
+     * the returned order is shared and must not be modified
+     */
+    @Transactional(readOnly = true)
     public Order getOrderById(String id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-        populateCustomerName(order);
-        return order;
+        return orderDetailCache.get(id, () -> {
+            Order order = orderRepository.findDetailById(id)
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+            customerNameService.populate(order);
+            return OrderDetailCache.initializeDetail(order);
+        });
     }
 
-    @Transactional
-    public List<Order> getOrdersByCustomerId(String customerId) {
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrdersByCustomerId(String customerId) {
         log.info("Fetching orders for customer: {}", customerId);
-        List<Order> orders = orderRepository.findByCustomerId(customerId);
+        List<OrderSummary> orders = withRecipients(orderRepository.findCustomerSummaries(customerId));
         log.info("Found {} orders for customer {}", orders.size(), customerId);
 
-        // Recalculate totals from recipients to ensure dashboard shows correct amounts
-        for (Order order : orders) {
-            try {
-                recalculateOrderTotalsFromRecipients(order);
-            } catch (Exception e) {
-                log.error("Failed to recalculate totals for order {}: {}",
-                        order.getOrderNumber(), e.getMessage(), e);
-            }
-        }
+        // Totals are maintained on write; only orders with a stale stamp are
+        // refreshed, in the background
+        orderTotalsService.repairLater(orders.stream()
+                .filter(order -> orderTotalsService.isStale(order.getTotalsVersion()))
+                .map(OrderSummary::getId)
+                .toList());
 
         return orders;
     }
 
-    public List<Order> getOrdersByProcessServerId(String processServerId) {
-        List<Order> orders = orderRepository.findDistinctByRecipientsAssignedProcessServerId(processServerId);
-
-        // Filter orders to only include those where the process server is properly
-        // assigned
-        // For GUIDED (direct) assignments: No bid check needed
-        // For AUTOMATED (bidding) assignments: Must have ACCEPTED bid
-        List<Order> filteredOrders = orders.stream()
-                .filter(order -> {
-                    return order.getRecipients().stream()
-                            .anyMatch(recipient -> {
-                                // Check if this recipient is assigned to this process server
-                                if (!processServerId.equals(recipient.getAssignedProcessServerId())) {
-                                    return false;
-                                }
-
-                                // If it's a GUIDED (direct) assignment, include it without bid check
-                                if (recipient.getRecipientType() == OrderRecipient.RecipientType.GUIDED) {
-                                    return true;
-                                }
-
-                                // For AUTOMATED (bidding) assignments, check for ACCEPTED bid
-                                List<Bid> bids = bidRepository.findByOrderRecipientId(recipient.getId());
-                                return bids.stream()
-                                        .anyMatch(bid -> bid.getProcessServerId().equals(processServerId)
-                                                && bid.getStatus() == Bid.BidStatus.ACCEPTED);
-                            });
-                })
-                .toList();
-
-        populateCustomerNames(filteredOrders);
-        return filteredOrders;
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrdersByProcessServerId(String processServerId) {
+        // GUIDED assignments, or AUTOMATED ones with an ACCEPTED bid from this server
+        List<OrderSummary> orders = withRecipients(orderRepository.findAssignedToProcessServer(processServerId,
+                OrderRecipient.RecipientType.GUIDED, Bid.BidStatus.ACCEPTED));
+        customerNameService.populateSummaries(orders);
+        return orders;
     }
 
-    public List<Order> getAvailableOrders() {
-        List<Order.OrderStatus> statuses = List.of(Order.OrderStatus.OPEN, Order.OrderStatus.BIDDING);
+    /**
+     * Keyset-paginated variant of {@link #getOrdersByProcessServerId(String)}, newest first
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<OrderSummary> getOrdersByProcessServerIdPage(String processServerId, String cursor,
+            Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<OrderSummary> rows = after == null
+                ? orderRepository.findAssignedToProcessServerPage(processServerId,
+                        OrderRecipient.RecipientType.GUIDED, Bid.BidStatus.ACCEPTED, pageable)
+                : orderRepository.findAssignedToProcessServerPageAfter(processServerId,
+                        OrderRecipient.RecipientType.GUIDED, Bid.BidStatus.ACCEPTED,
+                        after.getCreatedAt(), after.getId(), pageable);
+
+        KeysetPage<OrderSummary> page = toPage(rows, pageSize);
+        customerNameService.populateSummaries(page.getItems());
+        return page;
+    }
 
-        List<Order> orders = orderRepository.findAll().stream()
-                .filter(order -> {
-                    // Include orders with OPEN or BIDDING status
-                    if (statuses.contains(order.getStatus())) {
-                        return true;
-                    }
-                    // Also include PARTIALLY_ASSIGNED orders that have recipients with OPEN or
-                    // BIDDING status
-                    if (order.getStatus() == Order.OrderStatus.PARTIALLY_ASSIGNED) {
-                        return order.getRecipients().stream()
-                                .anyMatch(recipient -> recipient.getStatus() == OrderRecipient.RecipientStatus.OPEN ||
-                                        recipient.getStatus() == OrderRecipient.RecipientStatus.BIDDING);
-                    }
-                    return false;
-                })
-                .toList();
-        populateCustomerNames(orders);
+    private static final List<Order.OrderStatus> AVAILABLE_ORDER_STATUSES = List.of(Order.OrderStatus.OPEN,
+            Order.OrderStatus.BIDDING);
+    private static final List<OrderRecipient.RecipientStatus> OPEN_RECIPIENT_STATUSES = List.of(
+            OrderRecipient.RecipientStatus.OPEN, OrderRecipient.RecipientStatus.BIDDING);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getAvailableOrders() {
+        // OPEN/BIDDING orders, plus PARTIALLY_ASSIGNED orders that still have an
+        // OPEN or BIDDING recipient - filtered in the database, not in memory
+        List<OrderSummary> orders = withRecipients(orderRepository.findAvailable(AVAILABLE_ORDER_STATUSES,
+                Order.OrderStatus.PARTIALLY_ASSIGNED, OPEN_RECIPIENT_STATUSES));
+        customerNameService.populateSummaries(orders);
         return orders;
     }
 
-    public List<Order> getOrdersByTenantId(String tenantId) {
-        return orderRepository.findAll().stream()
-                .filter(order -> tenantId.equals(order.getTenantId()))
-                .toList();
+    /**
+     * Keyset-paginated variant of {@link #getAvailableOrders()}, newest first
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<OrderSummary> getAvailableOrdersPage(String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<OrderSummary> rows = after == null
+                ? orderRepository.findAvailablePage(AVAILABLE_ORDER_STATUSES,
+                        Order.OrderStatus.PARTIALLY_ASSIGNED, OPEN_RECIPIENT_STATUSES, pageable)
+                : orderRepository.findAvailablePageAfter(AVAILABLE_ORDER_STATUSES,
+                        Order.OrderStatus.PARTIALLY_ASSIGNED, OPEN_RECIPIENT_STATUSES,
+                        after.getCreatedAt(), after.getId(), pageable);
+
+        KeysetPage<OrderSummary> page = toPage(rows, pageSize);
+        customerNameService.populateSummaries(page.getItems());
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrdersByTenantId(String tenantId) {
+        return withRecipients(orderRepository.findTenantSummaries(tenantId, List.of(Order.OrderStatus.values())));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrdersByTenantIdAndStatus(String tenantId, Order.OrderStatus status) {
+        return withRecipients(orderRepository.findTenantSummaries(tenantId, List.of(status)));
     }
 
-    public BigDecimal getPlatformRevenue() {
-        return orderRepository.findAll().stream()
-                .filter(order -> order.getStatus() != Order.OrderStatus.CANCELLED)
-                .map(Order::getSuperAdminFee)
-                .filter(fee -> fee != null)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Keyset-paginated tenant listing, newest first, optionally filtered by status
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<OrderSummary> getOrdersByTenantIdPage(String tenantId, Order.OrderStatus status,
+            String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Order.OrderStatus> statuses = status != null
+                ? List.of(status)
+                : List.of(Order.OrderStatus.values());
+
+        List<OrderSummary> rows = after == null
+                ? orderRepository.findTenantPage(tenantId, statuses, pageable)
+                : orderRepository.findTenantPageAfter(tenantId, statuses, after.getCreatedAt(), after.getId(),
+                        pageable);
+
+        return toPage(rows, pageSize);
+    }
+
+    private int normalizePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Rows are fetched with one extra element so we know whether another page exists
+    private KeysetPage<OrderSummary> toPage(List<OrderSummary> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<OrderSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummary last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new KeysetPage<>(withRecipients(items), nextCursor, hasMore, pageSize);
+    }
+
+    // Attach recipient summaries to a list of orders with a single IN query
+    private List<OrderSummary> withRecipients(List<OrderSummary> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<String, OrderSummary> byId = new LinkedHashMap<>();
+        for (OrderSummary order : orders) {
+            byId.put(order.getId(), order);
+        }
+        for (RecipientSummary recipient : recipientRepository.findSummariesByOrderIdIn(byId.keySet())) {
+            OrderSummary order = byId.get(recipient.getOrderId());
+            if (order != null) {
+                order.getRecipients().add(recipient);
+            }
+        }
+        return orders;
     }
 
     public boolean validateRatingEligibility(String orderId, String customerId, String processServerId) {
-        return orderRepository.findById(orderId)
+        return orderRepository.findDetailById(orderId)
                 .map(order -> {
                     boolean isCompleted = order.getStatus() == Order.OrderStatus.COMPLETED;
                     boolean isCustomerMatch = order.getCustomerId().equals(customerId);
@@ -570,11 +656,37 @@ public class OrderService {
 
     public List<Order> searchByCaseInfo(String query) {
         log.info("Searching orders by case info query: {}", query);
-        List<Order> orders = orderRepository.searchByCaseInfo(query);
-        populateCustomerNames(orders);
+        List<String> ids = orderSearchService.findMatchingOrderIds(query, null, null, null);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Same newest-first order as the ids the search index returned
+        List<Order> orders = orderRepository.findByIdInNewestFirst(ids);
+        customerNameService.populate(orders);
         return orders;
     }
 
+    /**
+     * Prefix search over case number, jurisdiction, custom name, recipient names
+     * and order numbers, optionally scoped to a tenant; keyset-paginated, newest first
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<OrderSummary> searchOrders(String query, String tenantId, String cursor, Integer limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = normalizePageSize(limit);
+        // The page (plus one row to detect more) is picked by the search query itself
+        List<String> ids = orderSearchService.findMatchingOrderIds(query, tenantId, after, pageSize + 1);
+        if (ids.isEmpty()) {
+            return new KeysetPage<>(List.of(), null, false, pageSize);
+        }
+
+        List<OrderSummary> rows = orderRepository.findSummariesByIdIn(ids, PageRequest.of(0, ids.size()));
+
+        KeysetPage<OrderSummary> page = toPage(rows, pageSize);
+        customerNameService.populateSummaries(page.getItems());
+        return page;
+    }
+
     // ============================================
     // REQUIREMENT 8: Order Management & Editing
     // ============================================
@@ -787,6 +899,8 @@ public class OrderService {
         // 9. Recalculate totals
         order.setTotalRecipients(order.getRecipients().size());
         order.setHasMultipleRecipients(order.getRecipients().size() > 1);
+        orderTotalsService.refresh(order);
+        orderSearchService.index(order);
 
         // 10. Save and return
         Order savedOrder = orderRepository.save(order);
@@ -814,7 +928,7 @@ public class OrderService {
         String oldStatus = order.getStatus().toString();
 
         // Update status to CANCELLED
-        order.setStatus(Order.OrderStatus.CANCELLED);
+        orderEventPublisher.transition(order, Order.OrderStatus.CANCELLED);
         order.setIsEditable(false);
         order.incrementModificationCount();
 
@@ -831,6 +945,7 @@ public class OrderService {
         modificationRepository.save(modification);
 
         orderRepository.save(order);
+        revenueLedgerService.recordOrderRevenue(order, RevenueLedgerEntry.Source.ORDER_CANCELLED);
         log.info("Order cancelled successfully: {}", orderId);
     }
 
@@ -949,6 +1064,8 @@ public class OrderService {
         order.getRecipients().add(recipient);
 
         recipientRepository.save(recipient);
+        orderTotalsService.refresh(order);
+        orderSearchService.index(order);
     }
 
     /**
@@ -975,6 +1092,8 @@ public class OrderService {
 
         order.getRecipients().remove(recipient);
         recipientRepository.delete(recipient);
+        orderTotalsService.refresh(order);
+        orderSearchService.index(order);
     }
 
     /**
@@ -1002,6 +1121,8 @@ public class OrderService {
         java.util.Map<String, String[]> changesMap = updateRecipientEntity(recipient, update, userId);
 
         recipientRepository.save(recipient);
+        orderTotalsService.refresh(recipient.getOrder());
+        orderSearchService.index(recipient.getOrder());
 
         if (!changesMap.isEmpty()) {
             historyService.trackRecipientEdit(recipient, changesMap, userId, role);
@@ -1281,52 +1402,6 @@ public class OrderService {
         return changes;
     }
 
-    private void populateCustomerNames(List<Order> orders) {
-        for (Order order : orders) {
-            populateCustomerName(order);
-        }
-    }
-
-    private void populateCustomerName(Order order) {
-        System.out.println("DEBUG: Populating customer name for order: " + order.getOrderNumber() + ", customerId: "
-                + order.getCustomerId());
-        try {
-            // Try fetching by TenantUserRoleId first (most common case)
-            try {
-                System.out.println("DEBUG: Calling getCustomerByTenantUserRoleId with " + order.getCustomerId());
-                java.util.Map<String, Object> customer = userClient
-                        .getCustomerByTenantUserRoleId(order.getCustomerId());
-                System.out.println("DEBUG: Fetched customer by role ID: " + customer);
-                if (customer != null) {
-                    String firstName = (String) customer.get("firstName");
-                    String lastName = (String) customer.get("lastName");
-                    order.setCustomerName(firstName + " " + lastName);
-                    return;
-                }
-            } catch (Exception e) {
-                System.out.println("DEBUG: Failed to fetch by role ID: " + e.getMessage());
-                e.printStackTrace();
-                // Ignore and try getUser
-            }
-
-            // Fallback to getUser (if ID is global user ID)
-            System.out.println("DEBUG: Calling getUser with " + order.getCustomerId());
-            java.util.Map<String, Object> user = userClient.getUser(order.getCustomerId());
-            System.out.println("DEBUG: Fetched user by ID: " + user);
-            if (user != null) {
-                String firstName = (String) user.get("firstName");
-                String lastName = (String) user.get("lastName");
-                order.setCustomerName(firstName + " " + lastName);
-            } else {
-                order.setCustomerName("Unknown Customer");
-            }
-        } catch (Exception e) {
-            System.out.println("DEBUG: Failed to fetch customer name for order " + order.getId());
-            e.printStackTrace();
-            order.setCustomerName("Unknown Customer");
-        }
-    }
-
     /**
      * Ensure payment breakdown is calculated for an order
      * This handles both GUIDED and AUTOMATED orders
@@ -1400,81 +1475,6 @@ public class OrderService {
                 totalSuperAdminFee, totalTenantProfit);
     }
 
-    /**
-     * Recalculate order totals from recipients
-     * This ensures the dashboard displays correct amounts by syncing order-level
-     * totals
-     * with the sum of recipient-level prices
-     */
-    private void recalculateOrderTotalsFromRecipients(Order order) {
-        if (order.getRecipients() == null || order.getRecipients().isEmpty()) {
-            log.debug("No recipients for order {}, skipping recalculation", order.getId());
-            return;
-        }
-
-        // REMOVED PRICING: Calculate subtotal from all recipients
-        // REMOVED PRICING: Match frontend logic: calculate from service flags for AUTOMATED/OPEN
-        // REMOVED PRICING: recipients
-        // REMOVED PRICING: BigDecimal subtotal = order.getRecipients().stream()
-        //         .map(recipient -> {
-        //             // Check if this is an AUTOMATED recipient that's OPEN or BIDDING
-        //             boolean isAutomatedPending = recipient.getRecipientType() == OrderRecipient.RecipientType.AUTOMATED
-        //                     &&
-        //                     (recipient.getStatus() == OrderRecipient.RecipientStatus.OPEN ||
-        //                             recipient.getStatus() == OrderRecipient.RecipientStatus.BIDDING);
-        //
-        //             // Check if this is a GUIDED recipient without quoted/negotiated price
-        //             boolean isDirectStandard = recipient.getRecipientType() == OrderRecipient.RecipientType.GUIDED &&
-        //                     recipient.getQuotedPrice() == null &&
-        //                     (recipient.getFinalAgreedPrice() == null
-        //                             || recipient.getFinalAgreedPrice().compareTo(BigDecimal.ZERO) == 0);
-        //
-        //             if (isAutomatedPending || isDirectStandard) {
-        //                 // Calculate from service options (matching frontend logic)
-        //                 BigDecimal price = BigDecimal.ZERO;
-        //                 if (Boolean.TRUE.equals(recipient.getProcessService())) {
-        //                     price = price.add(new BigDecimal("75"));
-        //                 }
-        //                 if (Boolean.TRUE.equals(recipient.getCertifiedMail())) {
-        //                     price = price.add(new BigDecimal("25"));
-        //                 }
-        //                 if (Boolean.TRUE.equals(recipient.getRushService())) {
-        //                     price = price.add(new BigDecimal("50"));
-        //                 }
-        //                 if (Boolean.TRUE.equals(recipient.getRemoteLocation())) {
-        //                     price = price.add(new BigDecimal("40"));
-        //                 }
-        //                 return price;
-        //             } else {
-        //                 // Use stored finalAgreedPrice for assigned/completed recipients
-        //                 return recipient.getFinalAgreedPrice() != null ? recipient.getFinalAgreedPrice()
-        //                         : BigDecimal.ZERO;
-        //             }
-        //         })
-        //         .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal subtotal = BigDecimal.ZERO;
-
-        // Calculate processing fee (3% of subtotal)
-        BigDecimal processingFeeRate = new BigDecimal("0.03");
-        BigDecimal processingFee = subtotal.multiply(processingFeeRate)
-                .setScale(2, java.math.RoundingMode.HALF_UP);
-
-        // Total amount = subtotal + processing fee
-        BigDecimal totalAmount = subtotal.add(processingFee);
-
-        // Update order's customer payment amount
-        // Within transaction - changes will be auto-saved
-        if (order.getCustomerPaymentAmount() == null ||
-                order.getCustomerPaymentAmount().compareTo(totalAmount) != 0) {
-            order.setCustomerPaymentAmount(totalAmount);
-            // REMOVED PRICING: order.setFinalAgreedPrice(subtotal);
-
-            log.info("Recalculated totals for order {}: Subtotal=${}, ProcessingFee=${}, Total=${}",
-                    order.getOrderNumber(), subtotal, processingFee, totalAmount);
-        }
-    }
-
     /**
      * Public method to recalculate order totals for a specific order
      * Useful for fixing orders with incorrect amounts
@@ -1485,10 +1485,8 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
 
-        recalculateOrderTotalsFromRecipients(order);
-
-        // Refresh order to get updated values
-        return orderRepository.findById(orderId).orElseThrow();
+        orderTotalsService.refresh(order);
+        return orderRepository.save(order);
     }
 
     @Transactional
@@ -1702,6 +1700,8 @@ public class OrderService {
 
         if (!changesMap.isEmpty()) {
             recipientRepository.save(recipient);
+            orderTotalsService.refresh(recipient.getOrder());
+            orderSearchService.index(recipient.getOrder());
             // Track history
             historyService.trackRecipientEdit(recipient, changesMap, userId, role);
         }
@@ -1805,6 +1805,7 @@ public class OrderService {
 
         order.setCustomName(customName.trim());
         order.incrementModificationCount();
+        orderSearchService.index(order);
 
         return orderRepository.save(order);
     }
@@ -1958,17 +1959,4 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Document not found: " + documentId));
         return document.getOriginalFileName();
     }
-
-    /**
-     * Generate unique order number in format ORD-YYYY-XXX
-     */
-    private String generateUniqueOrderNumber() {
-        int year = java.time.Year.now().getValue();
-        
-        // Count total orders created this year to get sequential number
-        long orderCount = orderRepository.count() + 1;
-        
-        // Format: ORD-2026-001, ORD-2026-002, etc.
-        return String.format("ORD-%d-%03d", year, orderCount);
-    }
 }
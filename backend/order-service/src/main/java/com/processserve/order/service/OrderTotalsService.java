@@ -0,0 +1,126 @@
+package com.processserve.order.service;
+
+import com.processserve.order.entity.Order;
+import com.processserve.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Order totals maintained at write time.
+ *
+ * Every path that changes what the totals depend on (recipients, service
+ * options, accepted bids) calls {@link #refresh} inside that writing
+ * transaction, which recomputes the totals and stamps the order with
+ * {@link #TOTALS_VERSION}; the changes are flushed with the write.
+ * Reads never recompute: orders whose stamp is missing or older (rows written
+ * before this existed, or after the calculation changed) are handed to
+ * {@link #repairLater}, which fixes them in the background.
+ */
+@Service
+@Slf4j
+public class OrderTotalsService {
+
+    /**
+     * Bump whenever the totals calculation changes so existing rows are repaired
+     */
+    public static final int TOTALS_VERSION = 1;
+
+    private static final int MAX_QUEUED_REPAIRS = 10_000;
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<String> queuedRepairs = ConcurrentHashMap.newKeySet();
+    private final ExecutorService repairExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-totals-repair");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderTotalsService(OrderRepository orderRepository, PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recalculate order totals from recipients
+     * This ensures the dashboard displays correct amounts by syncing order-level
+     * totals with the sum of recipient-level prices. Must be called inside the
+     * writing transaction; changes are flushed with it.
+     */
+    public void refresh(Order order) {
+        if (order.getRecipients() != null && !order.getRecipients().isEmpty()) {
+            // REMOVED PRICING: subtotal used to be derived from recipient service
+            // options / finalAgreedPrice; pricing is currently disabled
+            BigDecimal subtotal = BigDecimal.ZERO;
+
+            // Calculate processing fee (3% of subtotal)
+            BigDecimal processingFeeRate = new BigDecimal("0.03");
+            BigDecimal processingFee = subtotal.multiply(processingFeeRate)
+                    .setScale(2, java.math.RoundingMode.HALF_UP);
+
+            // Total amount = subtotal + processing fee
+            BigDecimal totalAmount = subtotal.add(processingFee);
+
+            if (order.getCustomerPaymentAmount() == null ||
+                    order.getCustomerPaymentAmount().compareTo(totalAmount) != 0) {
+                order.setCustomerPaymentAmount(totalAmount);
+
+                log.info("Recalculated totals for order {}: Subtotal=${}, ProcessingFee=${}, Total=${}",
+                        order.getOrderNumber(), subtotal, processingFee, totalAmount);
+            }
+        }
+        order.setTotalsVersion(TOTALS_VERSION);
+    }
+
+    public boolean isStale(Order order) {
+        return isStale(order.getTotalsVersion());
+    }
+
+    public boolean isStale(Integer totalsVersion) {
+        return totalsVersion == null || totalsVersion < TOTALS_VERSION;
+    }
+
+    /**
+     * Queue stale orders for a background refresh. Never writes in the caller's
+     * transaction, so read paths stay read-only.
+     */
+    public void repairLater(Collection<String> staleOrderIds) {
+        List<String> ids = new ArrayList<>();
+        for (String orderId : staleOrderIds) {
+            if (queuedRepairs.size() < MAX_QUEUED_REPAIRS && queuedRepairs.add(orderId)) {
+                ids.add(orderId);
+            }
+        }
+        if (!ids.isEmpty()) {
+            repairExecutor.execute(() -> repair(ids));
+        }
+    }
+
+    private void repair(List<String> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Order order : orderRepository.findAllById(ids)) {
+                    if (isStale(order)) {
+                        refresh(order);
+                    }
+                }
+            });
+            log.debug("Repaired totals for {} orders", ids.size());
+        } catch (Exception e) {
+            log.error("Failed to repair totals for {} orders: {}", ids.size(), e.getMessage());
+        } finally {
+            ids.forEach(queuedRepairs::remove);
+        }
+    }
+}
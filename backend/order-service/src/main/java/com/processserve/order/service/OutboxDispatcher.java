@@ -0,0 +1,105 @@
+package com.processserve.order.service;
+
+import com.processserve.order.client.NotificationClient;
+import com.processserve.order.client.UserClient;
+import com.processserve.order.dto.NotificationRequest;
+import com.processserve.order.entity.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background delivery of outbox messages. Claims due messages in batches,
+ * performs the remote calls outside any transaction and records the outcome.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxService outboxService;
+    private final NotificationClient notificationClient;
+    private final UserClient userClient;
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${outbox.sent-retention-days:7}")
+    private int sentRetentionDays;
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<OutboxMessage> claimed;
+            try {
+                claimed = outboxService.claimDue(batchSize);
+            } catch (Exception e) {
+                log.error("Failed to claim outbox messages: {}", e.getMessage());
+                return;
+            }
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            List<OutboxMessage> sent = new ArrayList<>();
+            for (OutboxMessage message : claimed) {
+                try {
+                    deliver(message);
+                    sent.add(message);
+                } catch (Exception e) {
+                    outboxService.markFailed(message, e.getMessage());
+                }
+            }
+            if (!sent.isEmpty()) {
+                outboxService.markSent(sent);
+            }
+            if (claimed.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // Daily at 3 AM, after the draft cleanup
+    @Scheduled(cron = "0 0 3 * * *")
+    public void purgeSent() {
+        int deleted = outboxService.purgeSentBefore(LocalDateTime.now().minusDays(sentRetentionDays));
+        log.info("Purged {} delivered outbox messages", deleted);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(OutboxMessage message) throws Exception {
+        switch (message.getType()) {
+            case NOTIFICATION -> notificationClient.createNotification(
+                    outboxService.readPayload(message, NotificationRequest.class));
+            case PROCESS_SERVER_STATS -> {
+                Map<String, Object> payload = outboxService.readPayload(message, Map.class);
+                Map<String, Object> statsRequest = new HashMap<>();
+                statsRequest.put("successful", payload.get("successful"));
+                statsRequest.put("attemptCount", payload.get("attemptCount"));
+                userClient.updateStats((String) payload.get("processServerId"), statsRequest);
+            }
+            case CONTACT_AUTO_ADD -> {
+                Map<String, Object> payload = outboxService.readPayload(message, Map.class);
+                userClient.autoAddProcessServer((String) payload.get("customerId"),
+                        (String) payload.get("processServerId"));
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.processserve.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processserve.order.dto.NotificationRequest;
+import com.processserve.order.entity.OutboxMessage;
+import com.processserve.order.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox for calls to other services. enqueue* methods join the
+ * caller's transaction, so a message exists if and only if the business change
+ * committed; OutboxDispatcher delivers it afterwards with retries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${outbox.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Value("${outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.backoff-base-ms:5000}")
+    private long backoffBaseMillis;
+
+    @Value("${outbox.backoff-max-ms:600000}")
+    private long backoffMaxMillis;
+
+    @Transactional
+    public void enqueueNotification(NotificationRequest request) {
+        enqueue(OutboxMessage.MessageType.NOTIFICATION, request, request.getRelatedOrderId());
+    }
+
+    @Transactional
+    public void enqueueProcessServerStats(String processServerId, boolean successful, int attemptCount,
+            String orderId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("processServerId", processServerId);
+        payload.put("successful", successful);
+        payload.put("attemptCount", attemptCount);
+        enqueue(OutboxMessage.MessageType.PROCESS_SERVER_STATS, payload, orderId);
+    }
+
+    @Transactional
+    public void enqueueContactAutoAdd(String customerId, String processServerId, String orderId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("customerId", customerId);
+        payload.put("processServerId", processServerId);
+        enqueue(OutboxMessage.MessageType.CONTACT_AUTO_ADD, payload, orderId);
+    }
+
+    /**
+     * Claim up to batchSize due messages. Claimed messages get their attempt
+     * counted and are leased (next_attempt_at pushed forward) before the lock is
+     * released, so delivery happens outside any transaction and a crashed
+     * instance's messages become due again when the lease runs out.
+     */
+    @Transactional
+    public List<OutboxMessage> claimDue(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> due = outboxRepository.findDueForUpdate(OutboxMessage.MessageStatus.PENDING, now,
+                PageRequest.of(0, batchSize));
+        for (OutboxMessage message : due) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plusNanos(leaseMillis * 1_000_000));
+        }
+        return due;
+    }
+
+    @Transactional
+    public void markSent(List<OutboxMessage> messages) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : outboxRepository.findAllById(
+                messages.stream().map(OutboxMessage::getId).toList())) {
+            message.setStatus(OutboxMessage.MessageStatus.SENT);
+            message.setSentAt(now);
+            message.setLastError(null);
+        }
+    }
+
+    /**
+     * Schedule a retry with exponential backoff, or dead-letter the message once
+     * it has used up its attempts
+     */
+    @Transactional
+    public void markFailed(OutboxMessage claimed, String error) {
+        outboxRepository.findById(claimed.getId()).ifPresent(message -> {
+            message.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(OutboxMessage.MessageStatus.DEAD);
+                log.error("Outbox message {} ({}) dead-lettered after {} attempts: {}",
+                        message.getId(), message.getType(), message.getAttempts(), error);
+                return;
+            }
+            long shift = Math.min(message.getAttempts() - 1, 20);
+            long delay = Math.min(backoffBaseMillis << shift, backoffMaxMillis);
+            message.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+            log.warn("Outbox message {} ({}) failed attempt {}, retrying in {} ms: {}",
+                    message.getId(), message.getType(), message.getAttempts(), delay, error);
+        });
+    }
+
+    /**
+     * Put a dead-lettered message back in the queue with a fresh attempt budget
+     */
+    @Transactional
+    public OutboxMessage retryDead(Long id) {
+        OutboxMessage message = outboxRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Outbox message not found: " + id));
+        if (message.getStatus() != OutboxMessage.MessageStatus.DEAD) {
+            throw new RuntimeException("Only DEAD messages can be retried");
+        }
+        message.setStatus(OutboxMessage.MessageStatus.PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(LocalDateTime.now());
+        return message;
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutboxMessage> getMessages(OutboxMessage.MessageStatus status, int limit) {
+        return outboxRepository.findByStatusOrderByIdDesc(status, PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public int purgeSentBefore(LocalDateTime before) {
+        return outboxRepository.deleteSentBefore(OutboxMessage.MessageStatus.SENT, before);
+    }
+
+    <T> T readPayload(OutboxMessage message, Class<T> type) throws JsonProcessingException {
+        return objectMapper.readValue(message.getPayload(), type);
+    }
+
+    private void enqueue(OutboxMessage.MessageType type, Object payload, String orderId) {
+        OutboxMessage message = new OutboxMessage();
+        message.setType(type);
+        try {
+            message.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox payload: " + e.getMessage(), e);
+        }
+        message.setStatus(OutboxMessage.MessageStatus.PENDING);
+        message.setAttempts(0);
+        message.setRelatedOrderId(orderId);
+        message.setCreatedAt(LocalDateTime.now());
+        message.setNextAttemptAt(message.getCreatedAt());
+        outboxRepository.save(message);
+    }
+}
@@ -9,8 +9,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing process server custom pricing.
@@ -63,6 +66,40 @@ public class ProcessServerPricingService {
         return createDefaultPricing(processServerId);
     }
 
+    /**
+     * Load active pricing rules for several process servers at once, grouped by
+     * process server. Used with {@link #selectPricing} when pricing many
+     * recipients so the lookups cost one query instead of two per recipient.
+     */
+    public Map<String, List<ProcessServerPricing>> getActivePricingByProcessServer(Collection<String> processServerIds) {
+        if (processServerIds.isEmpty()) {
+            return Map.of();
+        }
+        return pricingRepository.findByProcessServerIdInAndIsActiveTrue(processServerIds).stream()
+            .collect(Collectors.groupingBy(ProcessServerPricing::getProcessServerId));
+    }
+
+    /**
+     * In-memory equivalent of {@link #getPricingForZipCode}: exact zip code first,
+     * then the 'ALL' default, then hardcoded defaults
+     */
+    public ProcessServerPricing selectPricing(String processServerId, String zipCode, List<ProcessServerPricing> rules) {
+        if (rules != null) {
+            for (ProcessServerPricing rule : rules) {
+                if (!rule.isDefault() && rule.matchesZipCode(zipCode)) {
+                    return rule;
+                }
+            }
+            for (ProcessServerPricing rule : rules) {
+                if (rule.isDefault()) {
+                    return rule;
+                }
+            }
+        }
+        log.warn("No pricing found for PS: {}. Using hardcoded defaults.", processServerId);
+        return createDefaultPricing(processServerId);
+    }
+
     /**
      * Calculate service options fee based on selected options
      */
@@ -74,11 +111,23 @@ public class ProcessServerPricingService {
         boolean isRush,
         boolean isRemote
     ) {
-        CalculatedPricing result = new CalculatedPricing();
-        BigDecimal totalFee = BigDecimal.ZERO;
-
         // Get pricing row for this zip code (or default)
         ProcessServerPricing pricing = getPricingForZipCode(processServerId, zipCode);
+        return calculateServiceOptions(pricing, isProcessService, isCertifiedMail, isRush, isRemote);
+    }
+
+    /**
+     * Calculate service options fee from an already resolved pricing row
+     */
+    public CalculatedPricing calculateServiceOptions(
+        ProcessServerPricing pricing,
+        boolean isProcessService,
+        boolean isCertifiedMail,
+        boolean isRush,
+        boolean isRemote
+    ) {
+        CalculatedPricing result = new CalculatedPricing();
+        BigDecimal totalFee = BigDecimal.ZERO;
 
         result.setAppliedZipCode(pricing.getZipCode());
         result.setUsedDefaultFallback(pricing.isDefault());
@@ -0,0 +1,138 @@
+package com.processserve.order.service;
+
+import com.processserve.order.dto.RevenueBucket;
+import com.processserve.order.entity.Order;
+import com.processserve.order.entity.RevenueLedgerEntry;
+import com.processserve.order.entity.RevenueRollup;
+import com.processserve.order.repository.RevenueLedgerRepository;
+import com.processserve.order.repository.RevenueRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Platform revenue (super admin fees) as an append-only ledger plus hourly and
+ * daily per-tenant rollups. Writers append the change in an order's fee when
+ * payment amounts are finalised; readers sum a few rollup rows instead of
+ * scanning order history.
+ */
+@Service
+@Slf4j
+public class RevenueLedgerService {
+
+    private static final String BACKFILL_LEASE = "revenue-ledger-backfill";
+    private static final Duration BACKFILL_LEASE_DURATION = Duration.ofMinutes(30);
+
+    private final RevenueLedgerRepository ledgerRepository;
+    private final RevenueRollupRepository rollupRepository;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    public RevenueLedgerService(RevenueLedgerRepository ledgerRepository,
+            RevenueRollupRepository rollupRepository,
+            JobLeaseService jobLeaseService,
+            PlatformTransactionManager transactionManager) {
+        this.ledgerRepository = ledgerRepository;
+        this.rollupRepository = rollupRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Bring the ledger in line with the order's current super admin fee (zero for
+     * cancelled orders). Appends one entry with the difference, if any, and
+     * updates the rollups in the caller's transaction. The order row is locked
+     * first, so concurrent writers of the same order append in turn and each
+     * sees the other's entry instead of both appending the same delta.
+     */
+    @Transactional
+    public void recordOrderRevenue(Order order, RevenueLedgerEntry.Source source) {
+        BigDecimal target = order.getStatus() == Order.OrderStatus.CANCELLED || order.getSuperAdminFee() == null
+                ? BigDecimal.ZERO
+                : order.getSuperAdminFee();
+        ledgerRepository.lockOrder(order.getId());
+        BigDecimal delta = target.subtract(ledgerRepository.sumByOrderIdForUpdate(order.getId()));
+        if (delta.signum() == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        RevenueLedgerEntry entry = new RevenueLedgerEntry();
+        entry.setOrderId(order.getId());
+        entry.setTenantId(order.getTenantId());
+        entry.setAmount(delta);
+        entry.setSource(source);
+        entry.setCreatedAt(now);
+        ledgerRepository.save(entry);
+
+        rollupRepository.addToBucket(order.getTenantId(), RevenueRollup.Granularity.HOURLY.name(),
+                now.truncatedTo(ChronoUnit.HOURS), delta);
+        rollupRepository.addToBucket(order.getTenantId(), RevenueRollup.Granularity.DAILY.name(),
+                now.toLocalDate().atStartOfDay(), delta);
+
+        log.info("Revenue ledger: {} {} for order {} ({})", delta.signum() > 0 ? "+" : "-", delta.abs(),
+                order.getOrderNumber(), source);
+    }
+
+    /**
+     * Total revenue from daily rollups. Dates are inclusive; null means unbounded.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getRevenue(String tenantId, LocalDate from, LocalDate to) {
+        return rollupRepository.sumRange(RevenueRollup.Granularity.DAILY, tenantId, startOf(from), endOf(to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RevenueBucket> getRevenueBuckets(String tenantId, LocalDate from, LocalDate to,
+            RevenueRollup.Granularity granularity) {
+        return rollupRepository.findBuckets(granularity, tenantId, startOf(from), endOf(to));
+    }
+
+    /**
+     * Seed the ledger from existing orders the first time the service starts
+     * with an empty ledger, then build the rollups from it. Only the replica
+     * holding the backfill lease does this; the lease is released after the
+     * backfill commits, so a replica taking it later sees a filled ledger.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!jobLeaseService.tryAcquire(BACKFILL_LEASE, BACKFILL_LEASE_DURATION)) {
+            log.info("Revenue ledger backfill is running on another instance");
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (ledgerRepository.count() > 0 || rollupRepository.count() > 0) {
+                    return;
+                }
+                int entries = ledgerRepository.backfillFromOrders();
+                if (entries > 0) {
+                    rollupRepository.rebuildHourly();
+                    rollupRepository.rebuildDaily();
+                }
+                log.info("Revenue ledger backfilled with {} entries from existing orders", entries);
+            });
+        } finally {
+            jobLeaseService.release(BACKFILL_LEASE);
+        }
+    }
+
+    private LocalDateTime startOf(LocalDate from) {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    private LocalDateTime endOf(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.processserve.order.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processserve.order.client.TenantClient;
+import com.processserve.order.dto.TenantConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed tenant configuration, loaded from tenant-service once per tenant
+ * instead of on every use. Tenant settings change rarely, so entries are kept
+ * until tenant-service reports a different config fingerprint for the tenant
+ * (checked periodically via /api/tenants/config-versions). If tenant-service
+ * is unreachable the cached config keeps being served.
+ */
+@Service
+@Slf4j
+public class TenantConfigCache {
+
+    private final TenantClient tenantClient;
+    private final ObjectMapper objectMapper;
+    // One entry per tenant that has been used; tenants are few
+    private final Map<String, TenantConfig> configs = new ConcurrentHashMap<>();
+    // Fingerprints from the previous check; null until the first one succeeds
+    private volatile Map<String, String> versions;
+
+    public TenantConfigCache(TenantClient tenantClient, ObjectMapper objectMapper) {
+        this.tenantClient = tenantClient;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Config for {@code tenantId}, fetched from tenant-service on first use.
+     * Throws if the tenant cannot be loaded.
+     */
+    public TenantConfig get(String tenantId) {
+        TenantConfig config = configs.get(tenantId);
+        if (config == null) {
+            Map<String, String> checked = versions;
+            config = load(tenantId);
+            // A version check ran meanwhile: the load may predate a change it saw
+            if (versions == checked) {
+                configs.put(tenantId, config);
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Drop tenants whose settings changed since the previous check. Before the
+     * first successful check nothing is known about changes, so everything is
+     * dropped.
+     */
+    @Scheduled(fixedDelayString = "${orders.tenant-config.version-check-ms:60000}")
+    public void checkVersions() {
+        Map<String, String> current;
+        try {
+            current = tenantClient.getConfigVersions();
+        } catch (Exception e) {
+            log.warn("Could not check tenant config versions: {}", e.getMessage());
+            return;
+        }
+        Map<String, String> previous = versions;
+        versions = current;
+        if (previous == null) {
+            configs.clear();
+            return;
+        }
+        for (String tenantId : configs.keySet()) {
+            if (!Objects.equals(previous.get(tenantId), current.get(tenantId))) {
+                log.info("Tenant {} config changed, reloading on next use", tenantId);
+                configs.remove(tenantId);
+            }
+        }
+    }
+
+    private TenantConfig load(String tenantId) {
+        Map<String, Object> tenant = tenantClient.getTenantById(tenantId);
+        Map<String, Object> pricingConfig = parseJson(tenantId, tenant.get("pricingConfig"));
+        Object commissionRate = pricingConfig.get("commissionRate");
+        Object auctionCloseMinutes = pricingConfig.get("auctionCloseMinutes");
+        return new TenantConfig(tenantId,
+                (String) tenant.get("name"),
+                !Boolean.FALSE.equals(tenant.get("isActive")),
+                commissionRate != null ? new BigDecimal(commissionRate.toString()) : null,
+                auctionCloseMinutes != null ? new BigDecimal(auctionCloseMinutes.toString()).intValue() : null,
+                pricingConfig);
+    }
+
+    private Map<String, Object> parseJson(String tenantId, Object json) {
+        if (!(json instanceof String text) || text.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return Collections.unmodifiableMap(objectMapper.readValue(text, new TypeReference<Map<String, Object>>() {
+            }));
+        } catch (Exception e) {
+            log.warn("Ignoring unparseable pricingConfig of tenant {}: {}", tenantId, e.getMessage());
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.processserve.order.util;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Defers work until the surrounding transaction commits, for in-memory state
+ * that must never see a write that is later rolled back.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run {@code action} once the surrounding transaction commits (immediately
+     * when there is none)
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Read-only template for loads made from an after-commit action, where the
+     * writer's transaction is already over and cannot be joined
+     */
+    public static TransactionTemplate readTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template;
+    }
+}
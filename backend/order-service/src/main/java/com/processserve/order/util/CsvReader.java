@@ -0,0 +1,116 @@
+package com.processserve.order.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, double-quoted fields
+ * with "" escapes, quoted fields may span lines. Reads one record at a time so
+ * large uploads are never buffered whole.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private int lineNumber = 1;
+    private int pushedBack = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Line on which the next record starts (1-based)
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Next record, or null at end of input. Blank lines are skipped.
+     *
+     * @throws MalformedRecordException if the record is not valid CSV; an
+     *         unterminated quoted field consumes the rest of the input
+     */
+    public List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\n') {
+                lineNumber++;
+                continue;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            unread(c);
+            return readRecord();
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedRecordException("Unterminated quoted field at line " + lineNumber);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    /**
+     * The input is not valid CSV (as opposed to failing to read it)
+     */
+    public static class MalformedRecordException extends IOException {
+        public MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.processserve.order.util;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque seek cursor for lists ordered by (created_at DESC, id DESC).
+ * Encodes the last row of a page so the next page starts strictly after it.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    public static String encode(LocalDateTime createdAt, String id) {
+        if (createdAt == null || id == null) {
+            return null;
+        }
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode}. Returns null for a blank cursor
+     * (first page) and throws IllegalArgumentException for a malformed one.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            if (idx <= 0 || idx == raw.length() - 1) {
+                throw new IllegalArgumentException("Missing cursor separator");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, idx)), raw.substring(idx + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
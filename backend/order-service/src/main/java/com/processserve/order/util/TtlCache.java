@@ -0,0 +1,88 @@
+package com.processserve.order.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small bounded cache with per-entry expiry. Entries are evicted least recently
+ * used first once maxEntries is reached, and treated as absent after the TTL.
+ * Intended for modest in-process lookups where pulling in a caching library
+ * is not worth it. Hit, miss and eviction counts are kept for metrics;
+ * explicit invalidation is not counted as an eviction.
+ */
+public class TtlCache<K, V> {
+
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TtlCache(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.processserve.order.service;
+
+import com.processserve.order.client.NotificationClient;
+import com.processserve.order.client.TenantClient;
+import com.processserve.order.client.UserClient;
+import com.processserve.order.dto.RecordAttemptRequest;
+import com.processserve.order.entity.Bid;
+import com.processserve.order.entity.Order;
+import com.processserve.order.entity.OrderRecipient;
+import com.processserve.order.util.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement counts of the paths covered by the fetch plans (entity graphs and
+ * batch fetching). Each path is measured on a small and a large order; the
+ * count must not grow with the number of recipients or bids, and must stay
+ * under a fixed bound. Needs Docker for the MySQL container; skipped without it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class FetchPlanStatementCountTest {
+
+    private static final int SMALL = 1;
+    private static final int LARGE = 20;
+    private static final String PROCESS_SERVER_ID = "ps-1";
+    private static final String CUSTOMER_ID = "customer-1";
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @MockBean
+    private UserClient userClient;
+
+    @MockBean
+    private TenantClient tenantClient;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void recordAttemptDoesNotLoadPerRecipient() {
+        int small = recordAttemptStatements(SMALL);
+        int large = recordAttemptStatements(LARGE);
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(25);
+    }
+
+    @Test
+    void acceptBidDoesNotLoadPerBid() {
+        int small = acceptBidStatements(SMALL);
+        int large = acceptBidStatements(LARGE);
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(25);
+    }
+
+    @Test
+    void validateRatingEligibilityIsOneQuery() {
+        int small = ratingEligibilityStatements(SMALL);
+        int large = ratingEligibilityStatements(LARGE);
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(2);
+    }
+
+    // A successful attempt on the last undelivered recipient, which completes the order
+    private int recordAttemptStatements(int recipients) {
+        Order order = persistOrder(Order.OrderStatus.IN_PROGRESS, recipients, OrderRecipient.RecipientStatus.DELIVERED);
+        OrderRecipient target = order.getRecipients().get(0);
+        inTransaction(() -> entityManager.createQuery(
+                "UPDATE OrderRecipient r SET r.status = :status WHERE r.id = :id")
+                .setParameter("status", OrderRecipient.RecipientStatus.IN_PROGRESS)
+                .setParameter("id", target.getId())
+                .executeUpdate());
+
+        RecordAttemptRequest request = new RecordAttemptRequest();
+        request.setRecipientId(target.getId());
+        request.setProcessServerId(PROCESS_SERVER_ID);
+        request.setWasSuccessful(true);
+        request.setGpsLatitude(new BigDecimal("40.7128"));
+        request.setGpsLongitude(new BigDecimal("-74.0060"));
+
+        return SqlStatementCounter.measure(() -> orderService.recordAttempt(request));
+    }
+
+    // Accepting one of {@code bids} pending bids on a single AUTOMATED recipient
+    private int acceptBidStatements(int bids) {
+        Order order = persistOrder(Order.OrderStatus.BIDDING, 1, OrderRecipient.RecipientStatus.BIDDING);
+        OrderRecipient recipient = order.getRecipients().get(0);
+        List<String> bidIds = new ArrayList<>();
+        inTransaction(() -> {
+            OrderRecipient managed = entityManager.find(OrderRecipient.class, recipient.getId());
+            for (int i = 0; i < bids; i++) {
+                Bid bid = new Bid();
+                bid.setId(UUID.randomUUID().toString());
+                bid.setRecipient(managed);
+                bid.setProcessServerId("ps-" + i);
+                bid.setBidAmount(new BigDecimal(100 + i));
+                bid.setStatus(Bid.BidStatus.PENDING);
+                entityManager.persist(bid);
+                bidIds.add(bid.getId());
+            }
+            return null;
+        });
+
+        return SqlStatementCounter.measure(() -> bidService.acceptBid(bidIds.get(0)));
+    }
+
+    private int ratingEligibilityStatements(int recipients) {
+        Order order = persistOrder(Order.OrderStatus.COMPLETED, recipients, OrderRecipient.RecipientStatus.DELIVERED);
+
+        return SqlStatementCounter.measure(() -> assertThat(
+                orderService.validateRatingEligibility(order.getId(), CUSTOMER_ID, PROCESS_SERVER_ID)).isTrue());
+    }
+
+    private Order persistOrder(Order.OrderStatus status, int recipients, OrderRecipient.RecipientStatus recipientStatus) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID().toString());
+        order.setTenantId("tenant-1");
+        order.setCustomerId(CUSTOMER_ID);
+        order.setOrderNumber("ORD-TEST-" + order.getId().substring(0, 8));
+        order.setStatus(status);
+        order.setCustomerPaymentAmount(new BigDecimal("200.00"));
+        order.setProcessServerPayout(new BigDecimal("170.00"));
+        for (int i = 1; i <= recipients; i++) {
+            OrderRecipient recipient = new OrderRecipient();
+            recipient.setId(UUID.randomUUID().toString());
+            recipient.setOrder(order);
+            recipient.setSequenceNumber(i);
+            recipient.setRecipientName("Recipient " + i);
+            recipient.setRecipientAddress(i + " Main St");
+            recipient.setRecipientZipCode("10001");
+            recipient.setStatus(recipientStatus);
+            if (recipientStatus == OrderRecipient.RecipientStatus.BIDDING) {
+                recipient.setRecipientType(OrderRecipient.RecipientType.AUTOMATED);
+            } else {
+                recipient.setRecipientType(OrderRecipient.RecipientType.GUIDED);
+                recipient.setAssignedProcessServerId(PROCESS_SERVER_ID);
+            }
+            order.getRecipients().add(recipient);
+        }
+        inTransaction(() -> {
+            entityManager.persist(order);
+            return null;
+        });
+        return order;
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
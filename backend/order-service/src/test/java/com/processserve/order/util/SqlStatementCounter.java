@@ -0,0 +1,43 @@
+package com.processserve.order.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Registered as the session factory's statement inspector by the test profile
+ * (see application-test.yml), so a test can measure a service method and catch
+ * N+1 regressions:
+ *
+ * <pre>
+ * int statements = SqlStatementCounter.measure(() -> bidService.acceptBid(bidId));
+ * </pre>
+ *
+ * Counting is off outside {@link #measure}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Run {@code work} and return the number of statements it issued
+     */
+    public static int measure(Runnable work) {
+        int[] counter = new int[1];
+        COUNTER.set(counter);
+        try {
+            work.run();
+            return counter[0];
+        } finally {
+            COUNTER.remove();
+        }
+    }
+}
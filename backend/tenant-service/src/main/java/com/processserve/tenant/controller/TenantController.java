@@ -52,6 +52,14 @@ public class TenantController {
                 tenant.getSubscriptionTier());
     }
 
+    /**
+     * Tenant id -> configuration fingerprint, for services that cache tenant config
+     */
+    @GetMapping("/config-versions")
+    public ResponseEntity<Map<String, String>> getConfigVersions() {
+        return ResponseEntity.ok(tenantService.getConfigVersions());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getTenant(@PathVariable String id) {
         try {
@@ -7,7 +7,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -78,4 +84,31 @@ public class TenantService {
         return tenantRepository.save(tenant);
     }
 
+    /**
+     * Fingerprint of every tenant's configuration (settings and info), keyed by
+     * tenant id. Services caching tenant config poll this and drop tenants whose
+     * fingerprint changed, so updateTenantSettings/updateTenantInfo reach them
+     * without a schema change or a message bus.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> getConfigVersions() {
+        Map<String, String> versions = new LinkedHashMap<>();
+        for (Tenant tenant : tenantRepository.findAll()) {
+            versions.put(tenant.getId(), configVersion(tenant));
+        }
+        return versions;
+    }
+
+    private String configVersion(Tenant tenant) {
+        String config = String.join("\0", String.valueOf(tenant.getName()),
+                String.valueOf(tenant.getDomainUrl()), String.valueOf(tenant.getIsActive()),
+                String.valueOf(tenant.getSubscriptionTier()), String.valueOf(tenant.getBusinessHours()),
+                String.valueOf(tenant.getPricingConfig()), String.valueOf(tenant.getNotificationSettings()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(config.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -18,6 +18,8 @@ import java.util.Map;
 @Slf4j
 public class CustomerController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final CustomerService customerService;
 
     @PostMapping
@@ -91,4 +93,19 @@ public class CustomerController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    @PostMapping("/by-role/batch")
+    public ResponseEntity<?> getCustomersByTenantUserRoleIds(@RequestBody List<String> tenantUserRoleIds) {
+        if (tenantUserRoleIds == null || tenantUserRoleIds.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Provide between 0 and " + MAX_BATCH_SIZE + " ids"));
+        }
+        try {
+            Map<String, CustomerDTO> customers = customerService.getCustomersByTenantUserRoleIds(tenantUserRoleIds);
+            return ResponseEntity.ok(customers);
+        } catch (Exception e) {
+            log.error("Failed to fetch customers in batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 }
@@ -17,6 +17,8 @@ import java.util.Map;
 @Slf4j
 public class ProcessServerController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final ProcessServerService processServerService;
     private final com.processserve.user.client.AuthClient authClient;
 
@@ -115,6 +117,33 @@ public class ProcessServerController {
         }
     }
 
+    @GetMapping("/{tenantUserRoleId}/operating-zip-codes")
+    public ResponseEntity<?> getOperatingZipCodes(@PathVariable String tenantUserRoleId) {
+        try {
+            return ResponseEntity.ok(processServerService.getOperatingZipCodes(tenantUserRoleId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Rating, delivery record and operating zips for many process servers at
+     * once (profile or tenant user role ids), keyed by the requested id
+     */
+    @PostMapping("/scoring-stats/batch")
+    public ResponseEntity<?> getScoringStats(@RequestBody List<String> ids) {
+        if (ids == null || ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Provide between 0 and " + MAX_BATCH_SIZE + " ids"));
+        }
+        try {
+            return ResponseEntity.ok(processServerService.getScoringStats(ids));
+        } catch (Exception e) {
+            log.error("Failed to fetch process server scoring stats: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/{tenantUserRoleId}/stats")
     public ResponseEntity<?> updateStats(@PathVariable String tenantUserRoleId,
             @RequestBody Map<String, Object> request) {
@@ -0,0 +1,23 @@
+package com.processserve.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Performance figures order-service weighs when it auto-awards an auction
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessServerScoringStats {
+    private String processServerId;
+    private BigDecimal currentRating;
+    private Integer successfulDeliveries;
+    private Integer failedAfterMaxAttempts;
+    private Boolean isRedZone;
+    private List<String> operatingZipCodes;
+}
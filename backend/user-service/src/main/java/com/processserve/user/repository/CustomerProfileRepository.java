@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +20,6 @@ public interface CustomerProfileRepository extends JpaRepository<CustomerProfile
                         @Param("globalUserId") String globalUserId);
 
         Optional<CustomerProfile> findByTenantUserRoleId(String tenantUserRoleId);
+
+        List<CustomerProfile> findByTenantUserRoleIdIn(Collection<String> tenantUserRoleIds);
 }
@@ -4,6 +4,7 @@ import com.processserve.user.entity.ProcessServerProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,8 @@ public interface ProcessServerRepository extends JpaRepository<ProcessServerProf
 
     Optional<ProcessServerProfile> findByTenantUserRoleId(String tenantUserRoleId);
 
+    List<ProcessServerProfile> findByTenantUserRoleIdIn(Collection<String> tenantUserRoleIds);
+
     List<ProcessServerProfile> findByStatus(ProcessServerProfile.ProcessServerStatus status);
 
     List<ProcessServerProfile> findByTenantId(String tenantId);
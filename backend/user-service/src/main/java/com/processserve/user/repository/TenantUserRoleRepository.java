@@ -2,11 +2,17 @@ package com.processserve.user.repository;
 
 import com.processserve.user.entity.TenantUserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TenantUserRoleRepository extends JpaRepository<TenantUserRole, String> {
     List<TenantUserRole> findByTenantIdAndRole(String tenantId, TenantUserRole.UserRole role);
+
+    @Query("SELECT r FROM TenantUserRole r JOIN FETCH r.globalUser WHERE r.id IN :ids")
+    List<TenantUserRole> findAllWithGlobalUserByIdIn(@Param("ids") Collection<String> ids);
 }
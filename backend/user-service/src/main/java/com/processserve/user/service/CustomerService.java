@@ -2,14 +2,20 @@ package com.processserve.user.service;
 
 import com.processserve.user.dto.CustomerDTO;
 import com.processserve.user.entity.CustomerProfile;
+import com.processserve.user.entity.GlobalUser;
 import com.processserve.user.entity.TenantUserRole;
 import com.processserve.user.repository.CustomerProfileRepository;
+import com.processserve.user.repository.GlobalUserRepository;
 import com.processserve.user.repository.TenantUserRoleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +25,7 @@ public class CustomerService {
 
     private final CustomerProfileRepository customerRepository;
     private final TenantUserRoleRepository tenantUserRoleRepository;
+    private final GlobalUserRepository globalUserRepository;
 
     public CustomerProfile createProfile(String tenantUserRoleId) {
         // Check if profile already exists
@@ -138,4 +145,48 @@ public class CustomerService {
 
         return enrichCustomerProfileWithRole(profile, role);
     }
+
+    /**
+     * Bulk variant of getCustomerByTenantUserRoleId. Resolves every id in three
+     * queries (roles with users, profiles, then global users for ids that are not
+     * role ids) and returns the customers keyed by the requested id. Unknown ids
+     * are simply absent from the result.
+     */
+    public Map<String, CustomerDTO> getCustomersByTenantUserRoleIds(List<String> ids) {
+        Set<String> requested = ids.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toCollection(HashSet::new));
+        Map<String, CustomerDTO> result = new HashMap<>();
+        if (requested.isEmpty()) {
+            return result;
+        }
+
+        List<TenantUserRole> roles = tenantUserRoleRepository.findAllWithGlobalUserByIdIn(requested);
+        Map<String, CustomerProfile> profilesByRole = customerRepository
+                .findByTenantUserRoleIdIn(requested).stream()
+                .collect(Collectors.toMap(CustomerProfile::getTenantUserRoleId, p -> p, (a, b) -> a));
+
+        for (TenantUserRole role : roles) {
+            CustomerProfile profile = profilesByRole.getOrDefault(role.getId(),
+                    new CustomerProfile(null, role.getId(), null, null));
+            result.put(role.getId(), enrichCustomerProfileWithRole(profile, role));
+        }
+
+        // Older orders store the global user id instead of the role id
+        Set<String> unresolved = new HashSet<>(requested);
+        unresolved.removeAll(result.keySet());
+        if (!unresolved.isEmpty()) {
+            for (GlobalUser user : globalUserRepository.findAllById(unresolved)) {
+                result.put(user.getId(), CustomerDTO.builder()
+                        .globalUserId(user.getId())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .email(user.getEmail())
+                        .phoneNumber(user.getPhoneNumber())
+                        .build());
+            }
+        }
+
+        return result;
+    }
 }
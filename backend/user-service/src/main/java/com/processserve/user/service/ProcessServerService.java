@@ -1,5 +1,9 @@
 package com.processserve.user.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processserve.user.dto.ProcessServerScoringStats;
 import com.processserve.user.entity.ProcessServerProfile;
 import com.processserve.user.entity.Rating;
 import com.processserve.user.repository.ProcessServerRepository;
@@ -11,7 +15,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -22,6 +31,8 @@ public class ProcessServerService {
     private final ProcessServerRepository processServerRepository;
     private final RatingRepository ratingRepository;
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     @Transactional
     public ProcessServerProfile createProfile(String tenantUserRoleId, String operatingZipCodes, String tenantId,
             boolean isGlobal, String profilePhotoUrl) {
@@ -161,6 +172,57 @@ public class ProcessServerService {
                 });
     }
 
+    /**
+     * Operating zip codes of a process server, parsed from the stored JSON array
+     */
+    public List<String> getOperatingZipCodes(String idOrTenantUserRoleId) {
+        return parseZipCodes(idOrTenantUserRoleId, getProfile(idOrTenantUserRoleId).getOperatingZipCodes());
+    }
+
+    private List<String> parseZipCodes(String idOrTenantUserRoleId, String zipCodes) {
+        if (zipCodes == null || zipCodes.isBlank()) {
+            return List.of();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(zipCodes, new TypeReference<List<String>>() {
+            });
+        } catch (JsonProcessingException e) {
+            log.warn("Invalid operating zip codes for process server {}: {}", idOrTenantUserRoleId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Scoring figures for each of {@code ids} (profile ids or tenant user role
+     * ids, keyed as requested); unknown ids are left out
+     */
+    @Transactional(readOnly = true)
+    public Map<String, ProcessServerScoringStats> getScoringStats(Collection<String> ids) {
+        Set<String> requested = new HashSet<>(ids);
+        requested.removeIf(id -> id == null || id.isBlank());
+        Map<String, ProcessServerScoringStats> result = new HashMap<>();
+        if (requested.isEmpty()) {
+            return result;
+        }
+        for (ProcessServerProfile profile : processServerRepository.findAllById(requested)) {
+            result.put(profile.getId(), toScoringStats(profile.getId(), profile));
+        }
+        Set<String> unresolved = new HashSet<>(requested);
+        unresolved.removeAll(result.keySet());
+        if (!unresolved.isEmpty()) {
+            for (ProcessServerProfile profile : processServerRepository.findByTenantUserRoleIdIn(unresolved)) {
+                result.put(profile.getTenantUserRoleId(), toScoringStats(profile.getTenantUserRoleId(), profile));
+            }
+        }
+        return result;
+    }
+
+    private ProcessServerScoringStats toScoringStats(String requestedId, ProcessServerProfile profile) {
+        return new ProcessServerScoringStats(requestedId, profile.getCurrentRating(),
+                profile.getSuccessfulDeliveries(), profile.getFailedAfterMaxAttempts(), profile.getIsRedZone(),
+                parseZipCodes(requestedId, profile.getOperatingZipCodes()));
+    }
+
     public List<ProcessServerProfile> getPendingApprovals() {
         return processServerRepository.findByStatus(ProcessServerProfile.ProcessServerStatus.PENDING_APPROVAL);
     }